@@ -16,8 +16,21 @@ android {
         testInstrumentationRunner = "androidx.test.runner.AndroidJUnitRunner"
     }
 
+    buildFeatures {
+        buildConfig = true
+    }
+
+    // android.os.Trace 區段和計數器：debug 預設開啟，release 預設關閉（呼叫會被編譯器拿掉）
+    // 要在 release 上抓 Perfetto 時可以用 ./gradlew assembleRelease -PgameTrace=true
+    // 先轉成 Boolean 再寫回 "true" / "false"，其他值不會原樣塞進產生的 Java 原始碼
+    val gameTraceOverride = providers.gradleProperty("gameTrace").orNull?.toBoolean()
+
     buildTypes {
+        debug {
+            buildConfigField("boolean", "GAME_TRACE", (gameTraceOverride ?: true).toString())
+        }
         release {
+            buildConfigField("boolean", "GAME_TRACE", (gameTraceOverride ?: false).toString())
             isMinifyEnabled = false
             proguardFiles(
                 getDefaultProguardFile("proguard-android-optimize.txt"),
@@ -33,6 +46,7 @@ android {
 
 dependencies {
 
+    implementation(project(":core"))
     implementation(libs.appcompat)
     implementation(libs.material)
     implementation(libs.activity)
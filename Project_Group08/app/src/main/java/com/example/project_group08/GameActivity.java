@@ -1,5 +1,6 @@
 package com.example.project_group08;
 
+import android.content.Intent;
 import android.os.Bundle;
 
 import androidx.activity.EdgeToEdge;
@@ -8,15 +9,32 @@ import androidx.core.graphics.Insets;
 import androidx.core.view.ViewCompat;
 import androidx.core.view.WindowInsetsCompat;
 
+import com.example.project_group08.game.GameSettings;
+import com.example.project_group08.game.GameView;
+
 /**
  * 遊戲活動 - 顯示遊戲主畫面
  * 由組員 C 負責
  */
 public class GameActivity extends AppCompatActivity {
 
+    /**
+     * 切換硬體加速畫布（比較效能用），例如：
+     * adb shell am start -n com.example.project_group08/.GameActivity --ez hardware_canvas false
+     */
+    public static final String EXTRA_HARDWARE_CANVAS = "hardware_canvas";
+
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
+
+        // 有帶設定就先存起來，GameView 建立時會讀取
+        Intent intent = getIntent();
+        if (intent != null && intent.hasExtra(EXTRA_HARDWARE_CANVAS)) {
+            new GameSettings(this).setHardwareCanvasEnabled(
+                    intent.getBooleanExtra(EXTRA_HARDWARE_CANVAS, true));
+        }
+
         EdgeToEdge.enable(this);
         setContentView(R.layout.activity_game);
 
@@ -26,4 +44,30 @@ public class GameActivity extends AppCompatActivity {
             return insets;
         });
     }
+
+    @Override
+    protected void onResume() {
+        super.onResume();
+
+        GameView gameView = findViewById(R.id.gameView);
+        if (gameView != null) {
+            gameView.onResume();
+        }
+    }
+
+    @Override
+    protected void onPause() {
+        super.onPause();
+
+        GameView gameView = findViewById(R.id.gameView);
+        if (gameView != null) {
+            // 進入背景：遊戲迴圈停住
+            gameView.onPause();
+
+            // 離開畫面時把觸控延遲統計和幀時間摘要存到 filesDir，可以用
+            // adb shell run-as com.example.project_group08 cat files/input_latency.txt 取出
+            gameView.dumpInputLatency();
+            gameView.dumpFrameTimings();
+        }
+    }
 }
\ No newline at end of file
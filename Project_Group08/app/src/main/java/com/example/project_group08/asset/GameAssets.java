@@ -0,0 +1,292 @@
+package com.example.project_group08.asset;
+
+import android.content.Context;
+import android.content.res.Resources;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.os.Process;
+import android.util.Log;
+
+import com.example.project_group08.R;
+import com.example.project_group08.core.CandyModel;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 整個程式共用的圖片快取：
+ * - 每張圖只解碼一次，重新開始、surface 重建都直接用快取
+ * - 跑步、跳躍、糖果這些小圖合併成一張 SpriteAtlas
+ * - preload 系列方法在背景執行緒先解碼，開始畫面可以用 getPreloadProgress 顯示進度
+ * - 用 acquire() / release() 計數，最後一個使用者 release 時才回收所有圖片
+ */
+public final class GameAssets {
+
+    private static final String TAG = "GameAssets";
+
+    // 背景解碼的執行緒數（留一個核心給 UI / 遊戲執行緒）
+    private static final int WORKER_COUNT =
+            Math.max(1, Math.min(3, Runtime.getRuntime().availableProcessors() - 1));
+
+    private static GameAssets instance;
+    private static int refCount = 0;
+
+    private final Resources resources;
+
+    // 縮放後的圖：key = 圖片 id + 寬高
+    // 存 FutureTask：背景正在解碼的圖，同步取用時會等它完成，不會重複解碼
+    private final ConcurrentHashMap<Long, FutureTask<Bitmap>> scaledBitmaps = new ConcurrentHashMap<>();
+    private final FutureTask<SpriteAtlas> atlas = new AssetTask<SpriteAtlas>(this::buildAtlas) {
+        @Override
+        void discard(SpriteAtlas result) {
+            result.recycle();
+        }
+    };
+
+    // 回收之後才解碼完的圖由背景執行緒自己回收（見 AssetTask）
+    private final Object releaseLock = new Object();
+    private boolean released = false;
+
+    // 預載進度
+    private final AtomicInteger preloadTotal = new AtomicInteger();
+    private final AtomicInteger preloadDone = new AtomicInteger();
+    private ExecutorService workers;
+
+    private GameAssets(Context context) {
+        resources = context.getApplicationContext().getResources();
+    }
+
+    /**
+     * 取得共用的 GameAssets，用完一定要呼叫 release()
+     */
+    public static synchronized GameAssets acquire(Context context) {
+        if (instance == null) {
+            instance = new GameAssets(context);
+        }
+        refCount++;
+        return instance;
+    }
+
+    /**
+     * 不再使用時呼叫；沒有人使用時回收所有圖片，之後拿到的 Bitmap 都不能再畫
+     */
+    public void release() {
+        synchronized (GameAssets.class) {
+            if (instance != this || refCount == 0) return;
+
+            refCount--;
+            if (refCount == 0) {
+                recycleAll();
+                instance = null;
+            }
+        }
+    }
+
+    /**
+     * 在背景執行緒先解碼、縮放，之後 getScaledBitmap 同樣的大小就直接拿到
+     */
+    public void preloadScaledBitmap(int resId, int width, int height) {
+        FutureTask<Bitmap> task = scaledTask(resId, width, height);
+        if (!task.isDone()) {
+            submitPreload(task);
+        }
+    }
+
+    /**
+     * 在背景執行緒先建立圖集
+     */
+    public void preloadAtlas() {
+        if (!atlas.isDone()) {
+            submitPreload(atlas);
+        }
+    }
+
+    private synchronized void submitPreload(FutureTask<?> task) {
+        if (workers == null) {
+            AtomicInteger threadCount = new AtomicInteger();
+            workers = Executors.newFixedThreadPool(WORKER_COUNT, runnable -> {
+                Thread thread = new Thread(() -> {
+                    Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                    runnable.run();
+                }, TAG + "-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        preloadTotal.incrementAndGet();
+        workers.execute(() -> {
+            // 同一個 FutureTask 只會真的執行一次（已經被同步取用過就直接結束）
+            task.run();
+            preloadDone.incrementAndGet();
+        });
+    }
+
+    /** 預載進度 0 ~ 1（沒有排任何預載時為 1） */
+    public float getPreloadProgress() {
+        int total = preloadTotal.get();
+        return (total == 0) ? 1f : preloadDone.get() / (float) total;
+    }
+
+    /** 排進去的預載是否都完成了 */
+    public boolean isPreloaded() {
+        return preloadDone.get() >= preloadTotal.get();
+    }
+
+    /**
+     * 取得縮放成指定大小的圖片，同一張圖同樣大小只會解碼、縮放一次
+     * 原始大小的圖縮放完就回收，不會留在記憶體裡
+     * 如果背景正在預載這張圖，會等它完成
+     * @return 載入失敗時回傳 null
+     */
+    public Bitmap getScaledBitmap(int resId, int width, int height) {
+        FutureTask<Bitmap> task = scaledTask(resId, width, height);
+        task.run();   // 已經在執行或已完成時不會重跑
+        return await(task);
+    }
+
+    private FutureTask<Bitmap> scaledTask(int resId, int width, int height) {
+        Long key = ((long) resId << 32) | ((long) (width & 0xFFFF) << 16) | (height & 0xFFFF);
+        FutureTask<Bitmap> task = scaledBitmaps.get(key);
+        if (task == null) {
+            FutureTask<Bitmap> created = new AssetTask<Bitmap>(() -> decodeScaled(resId, width, height)) {
+                @Override
+                void discard(Bitmap result) {
+                    result.recycle();
+                }
+            };
+            task = scaledBitmaps.putIfAbsent(key, created);
+            if (task == null) task = created;
+        }
+        return task;
+    }
+
+    private Bitmap decodeScaled(int resId, int width, int height) {
+        Bitmap raw = BitmapFactory.decodeResource(resources, resId);
+        if (raw == null) {
+            Log.e(TAG, "Bitmap failed to load: " + resources.getResourceEntryName(resId));
+            return null;
+        }
+
+        Bitmap bitmap = Bitmap.createScaledBitmap(raw, width, height, true);
+        if (bitmap != raw) {
+            raw.recycle();
+        }
+
+        // 先上傳到 GPU（硬體加速畫布第一次貼圖時不會卡），軟體畫布不受影響
+        bitmap.prepareToDraw();
+        return bitmap;
+    }
+
+    /**
+     * 角色動畫與糖果共用的圖集（第一次呼叫時建立，或等背景預載完成）
+     */
+    public SpriteAtlas getAtlas() {
+        atlas.run();
+        return await(atlas);
+    }
+
+    private SpriteAtlas buildAtlas() {
+        Bitmap[] sprites = new Bitmap[SpriteAtlas.SPRITE_COUNT];
+        sprites[SpriteAtlas.RUN1] = decode(R.drawable.run1);
+        sprites[SpriteAtlas.RUN2] = decode(R.drawable.run2);
+        sprites[SpriteAtlas.JUMP] = decode(R.drawable.jump);
+
+        // 糖果先縮成顯示大小再放進圖集，畫的時候就不用再縮放
+        Bitmap rawCandy = decode(R.drawable.candy);
+        if (rawCandy != null) {
+            sprites[SpriteAtlas.CANDY] = Bitmap.createScaledBitmap(
+                    rawCandy, CandyModel.CANDY_SIZE, CandyModel.CANDY_SIZE, true);
+        }
+
+        SpriteAtlas result = new SpriteAtlas(sprites);
+
+        // 已經畫進圖集，個別的圖就不需要了
+        for (Bitmap sprite : sprites) {
+            if (sprite != null) sprite.recycle();
+        }
+        if (rawCandy != null && !rawCandy.isRecycled()) {
+            rawCandy.recycle();
+        }
+        return result;
+    }
+
+    private Bitmap decode(int resId) {
+        Bitmap bitmap = BitmapFactory.decodeResource(resources, resId);
+        if (bitmap == null) {
+            Log.e(TAG, "Sprite failed to load: " + resources.getResourceEntryName(resId));
+        }
+        return bitmap;
+    }
+
+    private static <T> T await(FutureTask<T> task) {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            Log.e(TAG, "Asset failed to load", e.getCause());
+            return null;
+        }
+    }
+
+    /**
+     * 還沒開始的預載直接丟掉；已經完成的在這裡回收；
+     * 正在解碼的不等它，完成時看到 released 由背景執行緒自己回收
+     */
+    private synchronized void recycleAll() {
+        if (workers != null) {
+            workers.shutdownNow();
+            workers = null;
+        }
+
+        synchronized (releaseLock) {
+            released = true;
+
+            for (FutureTask<Bitmap> task : scaledBitmaps.values()) {
+                if (task.isDone()) {
+                    Bitmap bitmap = await(task);
+                    if (bitmap != null) bitmap.recycle();
+                }
+            }
+
+            if (atlas.isDone()) {
+                SpriteAtlas built = await(atlas);
+                if (built != null) built.recycle();
+            }
+        }
+        scaledBitmaps.clear();
+    }
+
+    /**
+     * 解碼完成時和 recycleAll 用同一把鎖：
+     * 結果要嘛在回收前就放進 FutureTask（由 recycleAll 回收），
+     * 要嘛看到已經回收，自己丟掉結果、改存 null，不會有漏掉的圖
+     */
+    private abstract class AssetTask<T> extends FutureTask<T> {
+
+        AssetTask(Callable<T> callable) {
+            super(callable);
+        }
+
+        /** 回收後才完成的結果 */
+        abstract void discard(T result);
+
+        @Override
+        protected void set(T result) {
+            synchronized (releaseLock) {
+                if (released && result != null) {
+                    discard(result);
+                    result = null;
+                }
+                super.set(result);
+            }
+        }
+    }
+}
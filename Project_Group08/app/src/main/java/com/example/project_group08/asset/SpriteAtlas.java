@@ -0,0 +1,130 @@
+package com.example.project_group08.asset;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Rect;
+
+/**
+ * 把小張的圖（跑步、跳躍、糖果）排在同一張大圖上
+ * 繪製時用 getRegion 取得每張圖在大圖中的範圍（source rect），
+ * getWidth / getHeight 是畫在畫面上的大小（遊戲座標）
+ * 動態解析度降低時可以用 createScaledCopy 建立縮小的複本，範圍跟著縮小、顯示大小不變
+ */
+public class SpriteAtlas {
+
+    // 每張圖的編號（和 GameAssets 裡載入的順序一致）
+    public static final int RUN1 = 0;
+    public static final int RUN2 = 1;
+    public static final int JUMP = 2;
+    public static final int CANDY = 3;
+    static final int SPRITE_COUNT = 4;
+
+    // 圖和圖之間留一點空白，縮放繪製時才不會取到隔壁的像素
+    private static final int PADDING = 2;
+
+    private final Bitmap bitmap;
+    private final Rect[] regions = new Rect[SPRITE_COUNT];
+    private final int[] widths = new int[SPRITE_COUNT];
+    private final int[] heights = new int[SPRITE_COUNT];
+
+    /**
+     * 由左到右排成一列
+     * @param sprites 依照編號排列的圖片（載入失敗的可以是 null，範圍會是空的）
+     */
+    SpriteAtlas(Bitmap[] sprites) {
+        int width = 0;
+        int height = 0;
+        for (Bitmap sprite : sprites) {
+            if (sprite == null) continue;
+            width += sprite.getWidth() + PADDING;
+            height = Math.max(height, sprite.getHeight());
+        }
+
+        bitmap = (width > 0 && height > 0)
+                ? Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888)
+                : null;
+        Canvas canvas = (bitmap != null) ? new Canvas(bitmap) : null;
+
+        int x = 0;
+        for (int i = 0; i < SPRITE_COUNT; i++) {
+            Bitmap sprite = sprites[i];
+            if (sprite == null || canvas == null) {
+                regions[i] = new Rect();
+                continue;
+            }
+
+            canvas.drawBitmap(sprite, x, 0, null);
+            regions[i] = new Rect(x, 0, x + sprite.getWidth(), sprite.getHeight());
+            widths[i] = sprite.getWidth();
+            heights[i] = sprite.getHeight();
+            x += sprite.getWidth() + PADDING;
+        }
+
+        // 圖集畫好之後就不會再改，先上傳到 GPU
+        if (bitmap != null) {
+            bitmap.prepareToDraw();
+        }
+    }
+
+    /**
+     * 以 scale 倍率重新取樣的複本：每張圖的範圍一起縮放，顯示大小沿用原本的
+     */
+    private SpriteAtlas(SpriteAtlas source, float scale) {
+        Bitmap sourceBitmap = source.bitmap;
+        bitmap = (sourceBitmap != null)
+                ? Bitmap.createScaledBitmap(sourceBitmap,
+                        Math.max(1, Math.round(sourceBitmap.getWidth() * scale)),
+                        Math.max(1, Math.round(sourceBitmap.getHeight() * scale)),
+                        true)
+                : null;
+
+        for (int i = 0; i < SPRITE_COUNT; i++) {
+            Rect region = source.regions[i];
+            regions[i] = region.isEmpty()
+                    ? new Rect()
+                    : new Rect(Math.round(region.left * scale), Math.round(region.top * scale),
+                            Math.round(region.right * scale), Math.round(region.bottom * scale));
+            widths[i] = source.widths[i];
+            heights[i] = source.heights[i];
+        }
+
+        if (bitmap != null) {
+            bitmap.prepareToDraw();
+        }
+    }
+
+    /**
+     * 建立縮小成 scale 倍的複本（畫布以同樣倍率縮小時，貼圖就是一個像素對一個像素）
+     * 複本由呼叫的人自己 recycle
+     */
+    public SpriteAtlas createScaledCopy(float scale) {
+        return new SpriteAtlas(this, scale);
+    }
+
+    /** 整張大圖（全部載入失敗時為 null） */
+    public Bitmap getBitmap() {
+        return bitmap;
+    }
+
+    /** 第 id 張圖在大圖上的範圍，請當作唯讀 */
+    public Rect getRegion(int id) {
+        return regions[id];
+    }
+
+    /** 第 id 張圖畫在畫面上的寬度（遊戲座標，縮小的複本也一樣） */
+    public int getWidth(int id) {
+        return widths[id];
+    }
+
+    /** 第 id 張圖畫在畫面上的高度（遊戲座標，縮小的複本也一樣） */
+    public int getHeight(int id) {
+        return heights[id];
+    }
+
+    /** 回收大圖；共用的圖集由 GameAssets 回收，這裡只給 createScaledCopy 的複本用 */
+    public void recycle() {
+        if (bitmap != null) {
+            bitmap.recycle();
+        }
+    }
+}
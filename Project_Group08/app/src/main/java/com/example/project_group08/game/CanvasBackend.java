@@ -0,0 +1,33 @@
+package com.example.project_group08.game;
+
+import android.graphics.Canvas;
+import android.os.Build;
+import android.view.SurfaceHolder;
+
+/**
+ * 取得 / 送出 Surface 畫布的方式（軟體或硬體加速）
+ * GameThread 只透過這個介面拿 Canvas，GameView.draw 兩種方式共用
+ */
+public interface CanvasBackend {
+
+    /** 鎖定畫布，拿不到時回傳 null */
+    Canvas lockCanvas(SurfaceHolder holder);
+
+    void unlockCanvasAndPost(SurfaceHolder holder, Canvas canvas);
+
+    /** 是否為硬體加速（GPU）畫布 */
+    boolean isHardware();
+
+    /** 記錄 / 比較用的名稱 */
+    String getName();
+
+    /**
+     * 依設定選擇畫布：要求硬體加速且 Android 8.0 以上才用 lockHardwareCanvas，其他用軟體畫布
+     */
+    static CanvasBackend create(boolean preferHardware) {
+        if (preferHardware && Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
+            return new HardwareCanvasBackend();
+        }
+        return new SoftwareCanvasBackend();
+    }
+}
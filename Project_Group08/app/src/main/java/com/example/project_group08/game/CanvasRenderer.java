@@ -0,0 +1,182 @@
+package com.example.project_group08.game;
+
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+
+import com.example.project_group08.asset.SpriteAtlas;
+import com.example.project_group08.core.RenderBackend;
+import com.example.project_group08.core.RenderCommandBuffer;
+import com.example.project_group08.player.Player;
+import com.example.project_group08.ui.GameOverUI;
+import com.example.project_group08.ui.HpBar;
+import com.example.project_group08.world.Candy;
+import com.example.project_group08.world.Ground;
+
+/**
+ * 用 Canvas 把繪製指令畫出來（在繪製執行緒上）
+ * 地板、糖果、角色、HUD、結束畫面都只用指令裡的數值，不讀 core 的 model 或 UI 的狀態
+ * 繪製物件由 GameView 在模擬執行緒上設定，所以都是 volatile
+ * 開啟追蹤時，每一個圖層（地板、糖果、角色、HUD、結束畫面）各是一段 trace
+ * 動態解析度降低時（軟體畫布），地板長條圖、圖集、HUD 圖層都用同樣的倍率重建，
+ * 貼圖時一個像素對一個像素，不用每一幀縮放
+ */
+class CanvasRenderer implements RenderBackend {
+
+    private Canvas canvas;
+    private float renderScale = 1f;
+
+    private volatile Ground ground;
+    private volatile Candy candy;
+    private volatile Player player;
+    private volatile SpriteAtlas atlas;
+    private volatile GameOverUI gameOverUI;
+    private final HpBar hpBar = new HpBar();
+
+    private final Paint playerPaint;
+
+    // 目前在畫哪一個圖層（追蹤用）
+    private static final int LAYER_NONE = -1;
+    private static final int LAYER_GROUND = 0;
+    private static final int LAYER_CANDY = 1;
+    private static final int LAYER_PLAYER = 2;
+    private static final int LAYER_HUD = 3;
+    private static final int LAYER_GAME_OVER = 4;
+    private static final String[] LAYER_NAMES = {
+            "draw.ground", "draw.candy", "draw.player", "draw.hud", "draw.gameOver"
+    };
+    private int layer = LAYER_NONE;
+
+    // 這一幀用的繪製物件（beginFrame 時固定下來，畫到一半被換掉也不影響）
+    private Ground frameGround;
+    private Candy frameCandy;
+    private Player framePlayer;
+    private SpriteAtlas frameAtlas;       // 這一幀用的縮小圖集，原尺寸時為 null
+
+    // 縮小的圖集複本：來源或倍率改變時才重建（只在繪製執行緒上使用）
+    private SpriteAtlas scaledAtlas;
+    private SpriteAtlas scaledSource;
+    private float scaledScale = 1f;
+
+    CanvasRenderer() {
+        playerPaint = new Paint();
+        playerPaint.setColor(Color.WHITE);
+        playerPaint.setStyle(Paint.Style.FILL);
+    }
+
+    /**
+     * @param renderScale 畫布已經 scale 過的解析度倍率
+     */
+    void setCanvas(Canvas canvas, float renderScale) {
+        this.canvas = canvas;
+        this.renderScale = renderScale;
+    }
+
+    /** 設定地板、糖果、角色的繪製物件和它們共用的圖集（圖片還沒載好時為 null） */
+    void setRenderers(Ground ground, Candy candy, Player player, SpriteAtlas atlas) {
+        this.ground = ground;
+        this.candy = candy;
+        this.player = player;
+        this.atlas = atlas;
+    }
+
+    void setGameOverUI(GameOverUI gameOverUI) {
+        this.gameOverUI = gameOverUI;
+    }
+
+    @Override
+    public void beginFrame(RenderCommandBuffer frame) {
+        frameGround = ground;
+        frameCandy = candy;
+        framePlayer = player;
+        frameAtlas = scaledAtlasFor(atlas, canvas.isHardwareAccelerated() ? 1f : renderScale);
+
+        enterLayer(LAYER_GROUND);
+        if (frameGround != null) frameGround.beginTiles(canvas, renderScale);
+    }
+
+    @Override
+    public void drawTile(int tileType, int worldX, float screenX) {
+        if (frameGround != null) frameGround.drawTile(canvas, tileType, worldX, (int) screenX);
+    }
+
+    @Override
+    public void drawSprite(int spriteId, int frame, float x, float y) {
+        if (spriteId == RenderCommandBuffer.SPRITE_CANDY) {
+            // 地板一定先送完，第一次畫別的東西前把地板貼出去
+            endTiles();
+            enterLayer(LAYER_CANDY);
+            if (frameCandy != null) frameCandy.draw(canvas, frameAtlas, x, y);
+        } else if (spriteId == RenderCommandBuffer.SPRITE_PLAYER) {
+            endTiles();
+            enterLayer(LAYER_PLAYER);
+            // Player 會自己掉出螢幕；掉出畫面後因 Y > 螢幕高度，就自然看不到
+            if (framePlayer != null) framePlayer.draw(canvas, frameAtlas, playerPaint, frame, x, y);
+        }
+    }
+
+    @Override
+    public void endFrame(RenderCommandBuffer frame) {
+        endTiles();
+
+        enterLayer(LAYER_HUD);
+        hpBar.draw(canvas, frame.getHp(), frame.getMaxHp(), frame.getCandyCount(), renderScale);
+
+        GameOverUI ui = gameOverUI;
+        if (ui != null && frame.getScreen() == RenderCommandBuffer.SCREEN_GAME_OVER) {
+            enterLayer(LAYER_GAME_OVER);
+            ui.draw(canvas, frame.getGameOverSeconds());
+        }
+
+        enterLayer(LAYER_NONE);
+        canvas = null;
+    }
+
+    /**
+     * 這一幀要用的縮小圖集：原尺寸時回傳 null（直接用原本的圖集），
+     * 否則第一次用到、或圖集 / 倍率改變時才重建
+     */
+    private SpriteAtlas scaledAtlasFor(SpriteAtlas source, float scale) {
+        if (source == null || scale >= 1f) {
+            releaseScaledAtlas();
+            return null;
+        }
+
+        if (scaledAtlas == null || scaledSource != source || scaledScale != scale) {
+            releaseScaledAtlas();
+            scaledAtlas = source.createScaledCopy(scale);
+            scaledSource = source;
+            scaledScale = scale;
+        }
+        return scaledAtlas;
+    }
+
+    /**
+     * 回收縮小的圖集複本（繪製執行緒上，或確定繪製執行緒已經結束時）
+     */
+    void releaseScaledAtlas() {
+        if (scaledAtlas != null) {
+            scaledAtlas.recycle();
+            scaledAtlas = null;
+            scaledSource = null;
+        }
+    }
+
+    /**
+     * 換到下一個圖層：結束上一段 trace、開始新的一段
+     */
+    private void enterLayer(int next) {
+        if (!GameTrace.ENABLED || next == layer) return;
+
+        if (layer != LAYER_NONE) GameTrace.end();
+        if (next != LAYER_NONE) GameTrace.begin(LAYER_NAMES[next]);
+        layer = next;
+    }
+
+    private void endTiles() {
+        if (frameGround != null) {
+            frameGround.endTiles(canvas);
+            frameGround = null;
+        }
+    }
+}
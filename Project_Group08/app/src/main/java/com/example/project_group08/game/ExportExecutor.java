@@ -0,0 +1,29 @@
+package com.example.project_group08.game;
+
+import android.os.Process;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * 匯出統計用的背景執行緒（整個程式共用一條）：
+ * 排版和寫檔都在這裡依序執行，同一個檔案不會被兩次匯出同時寫，也不會每次都開新執行緒
+ */
+final class ExportExecutor {
+
+    private static final Executor EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(() -> {
+            Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+            runnable.run();
+        }, "StatsExport");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private ExportExecutor() {
+    }
+
+    static void execute(Runnable task) {
+        EXECUTOR.execute(task);
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.project_group08.game;
+
+import android.content.Context;
+import android.os.Build;
+import android.os.PerformanceHintManager;
+
+/**
+ * 告訴系統一條執行緒每一幀的時間預算和實際花的時間，
+ * 讓排程器把它放到夠快的核心、調整時脈（Android 12 以上的 PerformanceHintManager）
+ * 舊版本或系統不支援時是什麼都不做的版本
+ */
+public interface FrameHint {
+
+    /** 回報這一幀實際工作了多久（奈秒） */
+    void reportActualWorkDuration(long durationNanos);
+
+    /** 更新每一幀的時間預算（奈秒），例如更新率改變時 */
+    void updateTargetWorkDuration(long targetNanos);
+
+    /** 結束時釋放 */
+    void close();
+
+    /**
+     * 為呼叫這個方法的執行緒建立 hint session（在那條執行緒上呼叫）
+     * @param tid 執行緒 id（Process.myTid()）
+     * @param targetNanos 每一幀的時間預算
+     */
+    static FrameHint create(Context context, int tid, long targetNanos) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.S) {
+            PerformanceHintManager manager = context.getSystemService(PerformanceHintManager.class);
+            if (manager != null) {
+                PerformanceHintManager.Session session =
+                        manager.createHintSession(new int[]{tid}, targetNanos);
+                if (session != null) {
+                    return new HintSessionFrameHint(session);
+                }
+            }
+        }
+        return NoOpFrameHint.INSTANCE;
+    }
+}
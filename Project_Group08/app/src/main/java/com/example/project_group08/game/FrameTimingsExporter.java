@@ -0,0 +1,60 @@
+package com.example.project_group08.game;
+
+import android.content.Context;
+import android.os.Debug;
+import android.util.Log;
+
+import com.example.project_group08.core.FrameTimings;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * 把 FrameTimings 的摘要寫到 app 的檔案目錄：
+ * filesDir/frame_timings.json 和 frame_timings.csv（每次覆蓋）
+ * 呼叫的執行緒（遊戲結束時的 GameThread、onPause 的 UI 執行緒）上只複製直方圖的計數，
+ * 排版（String.format）和寫檔都在共用的 ExportExecutor 上依序執行，不會卡住遊戲迴圈
+ */
+public final class FrameTimingsExporter {
+
+    private static final String TAG = "FrameTimingsExporter";
+
+    public static final String JSON_FILE_NAME = "frame_timings.json";
+    public static final String CSV_FILE_NAME = "frame_timings.csv";
+
+    private FrameTimingsExporter() {
+    }
+
+    public static void export(Context context, FrameTimings timings) {
+        FrameTimings snapshot = timings.snapshot();
+        Context appContext = context.getApplicationContext();
+
+        ExportExecutor.execute(() -> {
+            // ART 的 GC 統計（整個程序，從啟動開始累計）
+            long gcCount = readRuntimeStat("art.gc.gc-count");
+            long gcTimeMs = readRuntimeStat("art.gc.gc-time");
+
+            File dir = appContext.getFilesDir();
+            try (Writer json = new FileWriter(new File(dir, JSON_FILE_NAME));
+                 Writer csv = new FileWriter(new File(dir, CSV_FILE_NAME))) {
+                snapshot.writeJson(json, gcCount, gcTimeMs);
+                snapshot.writeCsv(csv, gcCount, gcTimeMs);
+            } catch (IOException e) {
+                Log.w(TAG, "Failed to write frame timings to " + dir, e);
+            }
+        });
+    }
+
+    /** 讀不到或不是數字時回傳 -1 */
+    private static long readRuntimeStat(String name) {
+        String value = Debug.getRuntimeStat(name);
+        if (value == null) return -1;
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
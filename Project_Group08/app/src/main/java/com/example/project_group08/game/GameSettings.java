@@ -0,0 +1,28 @@
+package com.example.project_group08.game;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+
+/**
+ * 遊戲設定（存在 SharedPreferences）
+ */
+public class GameSettings {
+
+    private static final String PREFS_NAME = "game_settings";
+    private static final String KEY_HARDWARE_CANVAS = "hardware_canvas";
+
+    private final SharedPreferences prefs;
+
+    public GameSettings(Context context) {
+        prefs = context.getApplicationContext().getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+    }
+
+    /** 是否使用硬體加速畫布（預設開啟；不支援的裝置會自動改回軟體畫布） */
+    public boolean isHardwareCanvasEnabled() {
+        return prefs.getBoolean(KEY_HARDWARE_CANVAS, true);
+    }
+
+    public void setHardwareCanvasEnabled(boolean enabled) {
+        prefs.edit().putBoolean(KEY_HARDWARE_CANVAS, enabled).apply();
+    }
+}
@@ -1,69 +1,335 @@
 package com.example.project_group08.game;
 
-import android.graphics.Canvas;
+import android.os.Debug;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Process;
+import android.util.Log;
+import android.view.Choreographer;
 import android.view.SurfaceHolder;
 
+import com.example.project_group08.core.EngineLifecycle;
+import com.example.project_group08.core.FrameTimings;
+import com.example.project_group08.core.RenderCommandBuffer;
+import com.example.project_group08.core.RenderFrameExchange;
+
 /**
  * 遊戲執行緒
- * 處理遊戲的更新和繪製迴圈
+ * 處理遊戲的更新迴圈，畫面交給 RenderThread
+ * - 自己帶一個 Looper，由 Choreographer 在每次 vsync 時呼叫 doFrame，不再用 sleep 猜時間
+ * - 邏輯以固定步長更新（累加器），畫面慢了也不會讓遊戲世界變慢
+ * - 更新完把這一幀寫成繪製指令（依照累加器剩餘比例做插值），交給 RenderThread 去畫，
+ *   這裡不等它畫完就可以處理下一個 vsync
+ * - 暫停（onPause、Surface 銷毀）時不再排下一幀，Looper 沒有訊息就完全睡著；
+ *   EngineLifecycle 恢復時再重新排 vsync，時間從頭算，不會一次補一大段
+ * - 以顯示優先權執行，並透過 FrameHint（PerformanceHintManager）回報每一幀的工作時間，
+ *   讓系統不要把遊戲執行緒放在太慢的核心上
  */
-public class GameThread extends Thread {
+public class GameThread extends Thread implements Choreographer.FrameCallback {
+
+    private static final String TAG = "GameThread";
 
     private SurfaceHolder surfaceHolder;
     private GameView gameView;
-    private boolean isRunning = false;
+    private volatile boolean isRunning = false;
+
+    private static final int UPDATES_PER_SECOND = 60;                         // 每秒邏輯更新次數
+    private static final long STEP_NANOS = 1_000_000_000L / UPDATES_PER_SECOND; // 每步時間（奈秒）
+    public static final float STEP_SECONDS = 1f / UPDATES_PER_SECOND;         // 每步時間（秒），傳給 update
+
+    // 一幀最多補跑幾步，避免卡頓後越追越慢
+    private static final int MAX_CATCH_UP_STEPS = 5;
+
+    // 每隔多少幀在 log 印一次準時 / 延遲統計
+    private static final int REPORT_INTERVAL_FRAMES = 300;
+
+    private Looper looper;
+    private Handler handler;
+    private Choreographer choreographer;
+
+    // ⭐ 暫停 / 恢復（是否已經排了下一幀也記在 lifecycle 裡）
+    private final EngineLifecycle lifecycle;
+    private final Runnable resumeLoop = this::resumeLoop;
+
+    // 螢幕更新率（由 GameView 依 Display 設定，切換 60 / 120 Hz 時也會更新）
+    private volatile long vsyncPeriodNanos = STEP_NANOS;
+
+    private long lastFrameTimeNanos = 0;
+    private long accumulator = 0;
+
+    // ⭐ 繪製指令的交換和繪製執行緒
+    private final RenderFrameExchange frameExchange = new RenderFrameExchange();
+    private final RenderThread renderThread;
+
+    // 回報每一幀實際工作時間（只在這條執行緒上使用）
+    private FrameHint frameHint = NoOpFrameHint.INSTANCE;
+    private long hintTargetNanos;
 
-    private final int FPS = 60;  // 每秒幀數
-    private final long FRAME_TIME = 1000 / FPS;  // 每幀時間（毫秒）
+    private long onTimeFrames = 0;
+    private long lateFrames = 0;
 
-    public GameThread(SurfaceHolder surfaceHolder, GameView gameView) {
+    public GameThread(SurfaceHolder surfaceHolder, GameView gameView, EngineLifecycle lifecycle) {
+        super("GameThread");
         this.surfaceHolder = surfaceHolder;
         this.gameView = gameView;
         this.isRunning = true;
+        this.lifecycle = lifecycle;
+        this.renderThread = new RenderThread(surfaceHolder, gameView, frameExchange, vsyncPeriodNanos);
+
+        // 從暫停恢復（可能在 UI 執行緒上）→ 交給這條執行緒重新排 vsync
+        lifecycle.setListener(this::postResume);
     }
 
     @Override
     public void run() {
-        long lastTime = System.currentTimeMillis();
+        // 畫面相關的執行緒，避免被排到背景工作後面
+        Process.setThreadPriority(Process.THREAD_PRIORITY_DISPLAY);
 
-        while (isRunning) {
-            Canvas canvas = null;
+        Looper.prepare();
 
-            try {
-                // 取得 Canvas 進行繪製
-                canvas = surfaceHolder.lockCanvas(null);
+        synchronized (this) {
+            looper = Looper.myLooper();
+            handler = new Handler(looper);
+        }
+        if (!isRunning) return;
 
-                if (canvas != null) {
-                    synchronized (surfaceHolder) {
-                        // 更新遊戲邏輯
-                        gameView.update();
+        renderThread.start();
 
-                        // 繪製遊戲
-                        gameView.draw(canvas);
-                    }
-                }
+        // Choreographer 綁定在這條執行緒的 Looper 上，doFrame 也會在這裡被呼叫
+        choreographer = Choreographer.getInstance();
 
-                // 控制幀率
-                long currentTime = System.currentTimeMillis();
-                long elapsed = currentTime - lastTime;
+        // 每一幀的時間預算 = vsync 週期
+        hintTargetNanos = vsyncPeriodNanos;
+        frameHint = FrameHint.create(gameView.getContext(), Process.myTid(), hintTargetNanos);
 
-                if (elapsed < FRAME_TIME) {
-                    Thread.sleep(FRAME_TIME - elapsed);
-                }
+        // 已經可以開始就直接排第一幀，否則等 EngineLifecycle 恢復
+        resumeLoop();
+
+        Looper.loop();
+
+        frameHint.close();
+    }
+
+    private void postResume() {
+        synchronized (this) {
+            if (handler != null) {
+                handler.post(resumeLoop);
+            }
+        }
+    }
+
+    /**
+     * 重新開始排 vsync（在這條執行緒上）；已經排了或還在暫停就不做事
+     */
+    private void resumeLoop() {
+        if (!isRunning || !lifecycle.tryResume()) return;
+
+        // 暫停期間的時間不算：第一幀的 frameInterval 為 0
+        lastFrameTimeNanos = 0;
+        accumulator = 0;
+
+        choreographer.postFrameCallback(this);
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        if (!isRunning) return;
+
+        // 暫停中 → 不排下一幀，Looper 會睡到 resumeLoop 被呼叫
+        if (!lifecycle.onFrame()) return;
+
+        long workStartNanos = System.nanoTime();
+        long cpuStartNanos = Debug.threadCpuTimeNanos();
+        long updateNanos = 0;
+
+        // 先排好下一個 vsync
+        choreographer.postFrameCallback(this);
+
+        // 以 vsync 時間戳計算這一幀經過的時間，比 System.nanoTime() 更穩定
+        long frameInterval = (lastFrameTimeNanos == 0) ? 0 : frameTimeNanos - lastFrameTimeNanos;
+        lastFrameTimeNanos = frameTimeNanos;
+
+        // 拿不到畫布時不累積時間，恢復後才不會一次補一大段
+        boolean simulating = renderThread.isCanvasAvailable();
+        if (simulating) {
+            accumulator += frameInterval;
+        } else {
+            accumulator = 0;
+        }
+
+        RenderCommandBuffer frame = frameExchange.getWriteBuffer();
+
+        synchronized (surfaceHolder) {
+            // 以固定步長更新遊戲邏輯，最多補 MAX_CATCH_UP_STEPS 步
+            // 模擬時間已經到 frameTimeNanos - accumulator，每一步往後推 STEP_NANOS
+            int steps = 0;
+            while (accumulator >= STEP_NANOS && steps < MAX_CATCH_UP_STEPS) {
+                // 先處理在這一步結束前發生的觸控，跳躍才會落在實際按下的那一步
+                long stepEndNanos = frameTimeNanos - accumulator + STEP_NANOS;
+                gameView.processInput(stepEndNanos);
+
+                long updateStart = System.nanoTime();
+                GameTrace.begin("update");
+                gameView.update(STEP_SECONDS);
+                GameTrace.end();
+                updateNanos += System.nanoTime() - updateStart;
+                accumulator -= STEP_NANOS;
+                steps++;
+            }
+
+            // 模擬停住（拿不到畫布、剛恢復的第一幀）→ 到現在為止的觸控直接丟掉，
+            // 不留在佇列裡等恢復後一次套用
+            if (steps == 0 && (!simulating || frameInterval == 0)) {
+                gameView.discardInput(frameTimeNanos);
+            }
+
+            // 還是追不上 → 丟掉多餘的時間，只保留不到一步的部分
+            if (accumulator >= STEP_NANOS) {
+                accumulator %= STEP_NANOS;
+            }
+
+            // 寫這一幀的繪製指令（alpha = 目前落在上一步與這一步之間的比例）
+            float alpha = accumulator / (float) STEP_NANOS;
+            GameTrace.begin("writeFrame");
+            gameView.writeFrame(frame, alpha);
+            GameTrace.end();
+        }
+
+        // 交給 RenderThread；Surface 不在時它拿不到畫布，會在下一幀再試
+        frameExchange.publish();
+
+        long workNanos = System.nanoTime() - workStartNanos;
+        reportWork(workNanos);
+
+        // 各階段時間：這一幀所有 update 的總和、整幀、執行緒 CPU 時間
+        FrameTimings timings = gameView.getFrameTimings();
+        timings.record(FrameTimings.PHASE_UPDATE, updateNanos);
+        timings.record(FrameTimings.PHASE_GAME_FRAME, workNanos);
+        if (cpuStartNanos >= 0) {
+            timings.record(FrameTimings.PHASE_GAME_CPU, Debug.threadCpuTimeNanos() - cpuStartNanos);
+        }
+
+        if (renderThread.isCanvasAvailable()) {
+            reportFrame(frameTimeNanos, frameInterval);
+        }
+    }
+
+    /**
+     * 把這一幀的工作時間回報給系統；更新率改變時先更新時間預算
+     */
+    private void reportWork(long workNanos) {
+        long target = vsyncPeriodNanos;
+        if (target != hintTargetNanos) {
+            hintTargetNanos = target;
+            frameHint.updateTargetWorkDuration(target);
+        }
+        frameHint.reportActualWorkDuration(workNanos);
+    }
+
+    /**
+     * 判斷這一幀是否準時：
+     * - 距離上一個 vsync 超過 1.5 個週期 → 中間漏掉了 vsync
+     * - 從 vsync 開始到寫完繪製指令超過一個週期 → 趕不上下一次顯示
+     *   （繪製在 RenderThread 上和下一幀的更新同時進行，不算在這裡）
+     */
+    private void reportFrame(long frameTimeNanos, long frameInterval) {
+        long period = vsyncPeriodNanos;
+        long workNanos = System.nanoTime() - frameTimeNanos;
+        boolean late = frameInterval > period + period / 2 || workNanos > period;
+
+        if (late) {
+            lateFrames++;
+        } else {
+            onTimeFrames++;
+        }
+        gameView.getFrameTimings().onFrame(late);
+
+        if ((onTimeFrames + lateFrames) % REPORT_INTERVAL_FRAMES == 0) {
+            Log.d(TAG, "frames on time: " + onTimeFrames + ", late: " + lateFrames
+                    + " (" + (1_000_000_000f / period) + " Hz, "
+                    + renderThread.getCanvasBackend().getName() + " canvas, "
+                    + frameExchange.getDroppedFrameCount() + " frames dropped by renderer)");
+        }
+    }
+
+    /**
+     * 依照螢幕更新率設定 vsync 週期（用來判斷每一幀是否延遲）
+     */
+    public void setRefreshRate(float refreshRate) {
+        if (refreshRate > 0) {
+            vsyncPeriodNanos = (long) (1_000_000_000L / refreshRate);
+            renderThread.setTargetFrameNanos(vsyncPeriodNanos);
+        }
+    }
+
+    /**
+     * 設定取得畫布的方式（下一幀開始生效）
+     */
+    public void setCanvasBackend(CanvasBackend backend) {
+        renderThread.setCanvasBackend(backend);
+    }
 
-                lastTime = System.currentTimeMillis();
+    public CanvasBackend getCanvasBackend() {
+        return renderThread.getCanvasBackend();
+    }
+
+    public long getOnTimeFrameCount() {
+        return onTimeFrames;
+    }
 
+    public long getLateFrameCount() {
+        return lateFrames;
+    }
+
+    /**
+     * Surface 建立 / 銷毀時呼叫（在 UI 執行緒上）
+     * 設成 false 時會等 RenderThread 放開畫布才返回，符合 surfaceDestroyed 返回後不再碰 Surface 的規定
+     */
+    public void setSurfaceAvailable(boolean available) {
+        renderThread.setSurfaceValid(available);
+    }
+
+    /**
+     * 結束遊戲和繪製執行緒，並等兩條都真的結束（之後才能釋放它們在用的圖片）
+     */
+    public void quitAndJoin() {
+        setRunning(false);
+        joinUninterruptibly(this);
+        joinUninterruptibly(renderThread);   // 還沒啟動的執行緒 join 會直接返回
+    }
+
+    private static void joinUninterruptibly(Thread thread) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                thread.join();
+                break;
             } catch (InterruptedException e) {
-                e.printStackTrace();
-            } finally {
-                if (canvas != null) {
-                    surfaceHolder.unlockCanvasAndPost(canvas);
-                }
+                interrupted = true;
             }
         }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** 還沒被 setRunning(false) / quitAndJoin 停止（停止後這條執行緒不能再用） */
+    public boolean isRunning() {
+        return isRunning;
     }
 
     public void setRunning(boolean running) {
         this.isRunning = running;
+
+        // 停止時讓 Looper 結束，執行緒才會離開 run()；繪製執行緒也一起結束
+        if (!running) {
+            lifecycle.shutdown();
+            frameExchange.close();
+            synchronized (this) {
+                if (looper != null) {
+                    looper.quitSafely();
+                }
+            }
+        }
     }
 }
@@ -0,0 +1,54 @@
+package com.example.project_group08.game;
+
+import android.os.Build;
+import android.os.Trace;
+
+import com.example.project_group08.BuildConfig;
+import com.example.project_group08.core.Tracer;
+
+/**
+ * android.os.Trace 的包裝：Perfetto / systrace 裡看得到遊戲迴圈的各個階段
+ * ENABLED 是編譯期常數（BuildConfig.GAME_TRACE），關閉時所有呼叫都會被編譯器拿掉
+ * 名稱請用字串常數，才不會每一幀配置物件
+ */
+final class GameTrace implements Tracer {
+
+    static final boolean ENABLED = BuildConfig.GAME_TRACE;
+
+    /** 給 core 的 GameWorld 用 */
+    static final GameTrace TRACER = new GameTrace();
+
+    private GameTrace() {
+    }
+
+    static void begin(String name) {
+        if (ENABLED) {
+            Trace.beginSection(name);
+        }
+    }
+
+    static void end() {
+        if (ENABLED) {
+            Trace.endSection();
+        }
+    }
+
+    /**
+     * 計數器（Perfetto 裡是一條隨時間變化的線），Android 10 以上才有
+     */
+    static void counter(String name, long value) {
+        if (ENABLED && Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+            Trace.setCounter(name, value);
+        }
+    }
+
+    @Override
+    public void beginSection(String name) {
+        begin(name);
+    }
+
+    @Override
+    public void endSection() {
+        end();
+    }
+}
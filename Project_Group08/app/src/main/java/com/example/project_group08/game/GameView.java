@@ -1,16 +1,19 @@
 package com.example.project_group08.game;
 
-import com.example.project_group08.ui.HpBar;
 import com.example.project_group08.ui.GameOverUI;
 import com.example.project_group08.ui.StartMenuUI;
 
 import android.content.Context;
 import android.graphics.Canvas;
 import android.graphics.Color;
-import android.graphics.Paint;
-import android.graphics.Rect;
+import android.graphics.PixelFormat;
+import android.graphics.PorterDuff;
+import android.hardware.display.DisplayManager;
+import android.os.Build;
 import android.util.AttributeSet;
+import android.view.Display;
 import android.view.MotionEvent;
+import android.view.Surface;
 import android.view.SurfaceHolder;
 import android.view.SurfaceView;
 
@@ -18,25 +21,66 @@ import com.example.project_group08.player.Player;
 import com.example.project_group08.player.AnimationFactory;
 import com.example.project_group08.world.Ground;
 import com.example.project_group08.world.Candy;   // ⭐ 新增：糖果
+import com.example.project_group08.asset.GameAssets;
+import com.example.project_group08.core.EngineLifecycle;
+import com.example.project_group08.core.FrameTimings;
+import com.example.project_group08.core.GameWorld;
+import com.example.project_group08.core.InputEventQueue;
+import com.example.project_group08.core.RenderCommandBuffer;
+
+import java.util.Random;
 
 public class GameView extends SurfaceView implements SurfaceHolder.Callback {
 
+    // 從視窗移除時結束，重新加回視窗時換一組新的（執行緒結束後不能再 start）
     private GameThread gameThread;
-    private HpBar hpBar;
-    private GameOverUI gameOverUI;
-    private StartMenuUI startMenuUI;
 
+    // ⭐ 背景或沒有 Surface 時遊戲迴圈停住，不佔 CPU（和 gameThread 一起換新）
+    private EngineLifecycle lifecycle;
+    private boolean activityPaused = false;   // 換新的 lifecycle 時保留暫停狀態（UI 執行緒）
+    // 開始 / 結束畫面：狀態在 GameThread 上改，RenderThread 只用繪製指令裡的數值畫
+    private volatile GameOverUI gameOverUI;
+    private volatile StartMenuUI startMenuUI;
+
+    // ⭐ 遊戲邏輯全部在 core 的 GameWorld，這裡只負責畫面、觸控和 UI
+    private GameWorld world;
+    private float runSpeedScale = 1f;     // 跑速倍率（難度調整用），重開一局也保留
+
+    // 繪製用：Player 在這裡更新動畫，三個都交給 renderer 在繪製執行緒上畫
     private Player player;
     private Ground ground;
     private Candy candy;          // ⭐ 新增：糖果管理器
 
-    private Paint playerPaint;
+    // ⭐ 把繪製指令畫到 Canvas（在 RenderThread 上）
+    private final CanvasRenderer renderer = new CanvasRenderer();
+
+    // ⭐ 觸控事件：UI 執行緒只放進佇列，GameThread 每一步開始前依發生時間取出處理
+    private final InputEventQueue inputQueue = new InputEventQueue();
+    private final InputEventQueue.Listener inputListener = this::applyInput;
+
+    // ⭐ 觸控到畫面的延遲：跳起來的那次觸控時間，寫進下一幀的繪製指令
+    private final InputLatencyMonitor latencyMonitor = new InputLatencyMonitor();
+
+    // ⭐ 每一幀各階段的時間分佈（GameThread、RenderThread 一起記錄）
+    private final FrameTimings frameTimings = new FrameTimings();
+    private long pendingJumpEventTime = 0;
+
+    // ⭐ 螢幕切換更新率（例如自動 60 ↔ 120 Hz）時重新設定 vsync 週期
+    private final DisplayManager.DisplayListener displayListener = new DisplayManager.DisplayListener() {
+        @Override public void onDisplayAdded(int displayId) {}
+        @Override public void onDisplayRemoved(int displayId) {}
 
-    private long lastUpdateTime = 0;
-    private float gameTime = 0;
+        @Override
+        public void onDisplayChanged(int displayId) {
+            Display display = getDisplay();
+            if (display != null && display.getDisplayId() == displayId) {
+                applyDisplayRefreshRate(getHolder());
+            }
+        }
+    };
 
-    // ⭐ 紀錄這一局有沒有掉進洞洞
-    private boolean hasFallen = false;
+    // ⭐ 共用的圖片快取：attach 時取得、detach 時釋放，重新開始不用再解碼
+    private GameAssets assets;
 
     public GameView(Context context) { super(context); init(); }
     public GameView(Context context, AttributeSet attrs) { super(context, attrs); init(); }
@@ -45,15 +89,30 @@ public class GameView extends SurfaceView implements SurfaceHolder.Callback {
     private void init() {
         getHolder().addCallback(this);
 
-        hpBar = new HpBar();
+        // ⭐ 分層：天空是後面的靜態 ImageView，這個 Surface 改成透明並疊在視窗上面，
+        //    每一幀只畫會動的東西（地板、糖果、角色）和 HUD
+        setZOrderMediaOverlay(true);
+        getHolder().setFormat(PixelFormat.TRANSLUCENT);
+
         startMenuUI = new StartMenuUI(1, 1);
         gameOverUI  = new GameOverUI(1, 1);
+        renderer.setGameOverUI(gameOverUI);
 
-        playerPaint = new Paint();
-        playerPaint.setColor(Color.WHITE);
-        playerPaint.setStyle(Paint.Style.FILL);
+        // 依設定選擇硬體加速或軟體畫布（兩種都走同一個 render）
+        GameSettings settings = new GameSettings(getContext());
+        createGameThread(CanvasBackend.create(settings.isHardwareCanvasEnabled()));
+    }
 
-        gameThread = new GameThread(getHolder(), this);
+    /**
+     * 建立新的遊戲執行緒和生命週期（還沒 start，等 surfaceCreated）
+     * @param backend 取得畫布的方式；重新建立時沿用上一條執行緒最後用的（可能已經改回軟體）
+     */
+    private void createGameThread(CanvasBackend backend) {
+        int blockers = EngineLifecycle.NO_SURFACE | (activityPaused ? EngineLifecycle.PAUSED : 0);
+        lifecycle = new EngineLifecycle(blockers);
+
+        gameThread = new GameThread(getHolder(), this, lifecycle);
+        gameThread.setCanvasBackend(backend);
     }
 
     @Override
@@ -61,37 +120,150 @@ public class GameView extends SurfaceView implements SurfaceHolder.Callback {
         int width = getWidth();
         int height = getHeight();
 
-        startMenuUI = new StartMenuUI(width, height);
-        gameOverUI  = new GameOverUI(width, height);
-
-        // 先 new Ground，讓它算好 GROUND_COLLISION_Y
-        ground = new Ground(getContext(), width, height);
+        // ⭐ 第一次建立、或畫面大小改變時才建立 UI 和遊戲世界；
+        //    從背景回來（Surface 重新建立）時全部沿用，這一局、畫面和分數都繼續
+        boolean newWorld = world == null || world.getScreenWidth() != width || world.getScreenHeight() != height;
 
-        // ⭐ 再 new Candy，裡面會用到 Ground.GROUND_COLLISION_Y
-        candy  = new Candy(getContext(), width, height);
+        // 圖片在背景執行緒解碼、縮放，開始畫面先顯示進度，載完才能按開始；
+        // 重新加回視窗時圖片已經釋放過，也要重新預載，由 update 重建繪製物件
+        if (newWorld || ground == null) {
+            if (assets == null) {
+                assets = GameAssets.acquire(getContext());
+            }
+            Ground.preload(assets, width, height);
+            assets.preloadAtlas();
+        }
 
-        // Player 的腳底高度 = Ground 的碰撞高度
-        float groundY = Ground.GROUND_COLLISION_Y;
+        if (newWorld) {
+            // Player 的腳底高度 = 地板的碰撞高度
+            createWorld(width, height, 0f);
+        }
 
-        player = new Player(width, groundY);
-        player.setAnimations(
-                AnimationFactory.createRunAnimation(getContext()),
-                AnimationFactory.createJumpAnimation(getContext())
-        );
+        // 依螢幕實際更新率排程（90 / 120 Hz 面板不再被當成 60 FPS）
+        applyDisplayRefreshRate(holder);
 
         if (gameThread.getState() == Thread.State.NEW) {
             gameThread.setRunning(true);
             gameThread.start();
         }
+
+        // Surface 回來了 → 可以鎖定畫布，迴圈繼續（時間從頭算）
+        gameThread.setSurfaceAvailable(true);
+        lifecycle.unblock(EngineLifecycle.NO_SURFACE);
+    }
+
+    /**
+     * 讀取 Display 的更新率，告訴 GameThread vsync 週期，
+     * 並在 Android 11 以上向系統要求相同的 Surface 幀率
+     * Surface 建立時和 Display 更新率改變時（displayListener）都會呼叫
+     */
+    private void applyDisplayRefreshRate(SurfaceHolder holder) {
+        Display display = getDisplay();
+        if (display == null) return;
+
+        float refreshRate = display.getRefreshRate();
+        gameThread.setRefreshRate(refreshRate);
+
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.R) {
+            Surface surface = holder.getSurface();
+            if (surface != null && surface.isValid()) {
+                surface.setFrameRate(refreshRate, Surface.FRAME_RATE_COMPATIBILITY_DEFAULT);
+            }
+        }
+    }
+
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+        if (assets == null) {
+            assets = GameAssets.acquire(getContext());
+        }
+
+        // 移除後又加回視窗 → 上一條執行緒已經結束，換一條新的，surfaceCreated 時 start
+        if (!gameThread.isRunning()) {
+            createGameThread(gameThread.getCanvasBackend());
+        }
+
+        // 在 UI 執行緒上收到更新率改變的通知
+        DisplayManager displayManager = getContext().getSystemService(DisplayManager.class);
+        if (displayManager != null) {
+            displayManager.registerDisplayListener(displayListener, null);
+        }
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+
+        DisplayManager displayManager = getContext().getSystemService(DisplayManager.class);
+        if (displayManager != null) {
+            displayManager.unregisterDisplayListener(displayListener);
+        }
+
+        // 畫面移除了 → 結束遊戲和繪製執行緒，等兩條都結束才釋放它們正在畫的圖片
+        gameThread.quitAndJoin();
+
+        // 繪製物件拿的是要回收的圖片；遊戲世界保留，加回視窗時用新的圖片重建
+        ground = null;
+        candy = null;
+        player = null;
+        renderer.setRenderers(null, null, null, null);
+        renderer.releaseScaledAtlas();
+
+        if (assets != null) {
+            assets.release();
+            assets = null;
+        }
     }
 
     @Override public void surfaceChanged(SurfaceHolder holder, int format, int width, int height) {}
-    @Override public void surfaceDestroyed(SurfaceHolder holder) {}
+    @Override
+    public void surfaceDestroyed(SurfaceHolder holder) {
+        // Surface 不在了 → 停住迴圈；RenderThread 正在畫的話等它送出，返回後就不再碰 Surface
+        lifecycle.block(EngineLifecycle.NO_SURFACE);
+        gameThread.setSurfaceAvailable(false);
+    }
 
-    public void update() {
-        long currentTime = System.currentTimeMillis();
-        float deltaTime = (lastUpdateTime == 0) ? 0.016f : (currentTime - lastUpdateTime) / 1000f;
-        lastUpdateTime = currentTime;
+    /** Activity onPause 時呼叫：遊戲暫停，執行緒睡著不佔 CPU */
+    public void onPause() {
+        activityPaused = true;
+        lifecycle.block(EngineLifecycle.PAUSED);
+    }
+
+    /** Activity onResume 時呼叫：Surface 也在的話就繼續 */
+    public void onResume() {
+        activityPaused = false;
+        lifecycle.unblock(EngineLifecycle.PAUSED);
+    }
+
+    /**
+     * 處理發生時間在 untilNanos 之前的觸控（由 GameThread 在每一步開始前呼叫）
+     * @param untilNanos 這一步結束的時間（和 MotionEvent 事件時間同一個時鐘）
+     */
+    public void processInput(long untilNanos) {
+        inputQueue.drainUntil(untilNanos, inputListener);
+    }
+
+    /**
+     * 丟掉發生時間在 untilNanos 之前的觸控（由 GameThread 在這一幀沒有跑任何一步時呼叫）
+     * 拿不到畫布時模擬停住，這段期間的點擊不應該等恢復後一次全部套用
+     */
+    public void discardInput(long untilNanos) {
+        inputQueue.discardUntil(untilNanos);
+    }
+
+    /**
+     * 以固定步長更新遊戲邏輯（由 GameThread 呼叫）
+     * @param deltaTime 每一步的時間(秒)，固定為 GameThread.STEP_SECONDS
+     */
+    public void update(float deltaTime) {
+        // 圖片預載完成後才建立繪製物件（此時全部都是快取，不會卡住）
+        if (ground == null && world != null && assets != null) {
+            startMenuUI.setLoadingProgress(assets.getPreloadProgress());
+            if (assets.isPreloaded()) {
+                createRenderers();
+            }
+        }
 
         // 還在開始畫面 → 只更新開始動畫
         if (!startMenuUI.isStarted()) {
@@ -99,159 +271,243 @@ public class GameView extends SurfaceView implements SurfaceHolder.Callback {
             return;
         }
 
-        // 1️⃣ 不管有沒有 GameOver，地板一律更新（背景還是會動）
-        if (ground != null) {
-            ground.update();
-        }
+        if (world == null) return;
 
-        // ⭐ 不管有沒有 GameOver，糖果也要跟著地板移動
-        if (candy != null && ground != null) {
-            candy.update(ground);
+        // 存活時間只在未 GameOver 時累加；結束後改為累加結束畫面顯示的時間
+        if (!world.isGameOver()) {
+            gameOverUI.updateSurvivalTime(deltaTime);
+        } else {
+            gameOverUI.update(deltaTime);
         }
 
-        // 2️⃣ 還沒 GameOver 的情況下，才判斷是否踩到洞洞 & HP 歸零 & 吃糖果
-        if (!gameOverUI.getIsGameOver()) {
-
-            // 2-1 掉洞洞判斷
-            if (ground != null && player != null) {
-
-                if (!hasFallen) {
-                    // 只在「還沒掉進洞」時檢查一次
-                    boolean isOnHole = ground.isPlayerFalling(
-                            (int) player.getX(),   // 角色固定 X
-                            (int) player.getY()    // 腳底 Y
-                    );
-
-                    if (isOnHole) {
-                        // 第一次掉進洞
-                        hasFallen = true;
-                        player.setIgnoreGroundCollision(true); // 後續不再被地板接住
-                        gameOverUI.setGameOver(true);          // 立刻顯示遊戲結束畫面
-                    } else {
-                        // 正常跑在地板上
-                        player.setIgnoreGroundCollision(false);
-                    }
-                }
-            }
+        // 鏡頭、地板、糖果、掉洞、吃糖果、HP 都在 GameWorld 裡以同樣順序更新
+        world.step(deltaTime);
 
-            // 2-2 吃糖果判斷（只有在還沒掉洞、還沒 GameOver 時才會吃到）
-            if (!hasFallen && player != null && candy != null) {
-                Rect playerRect = player.getCollisionRect();
-                int collectedCount = candy.setCollected(playerRect).size();
-
-                if (collectedCount > 0) {
-                    // 👉 成功吃到糖果！
-                    // ⭐ 這行很重要：告訴 HpBar 吃到了 collectedCount 顆糖果
-                    // HpBar 會自動計數，累積到 50 顆時自動回血 25 HP
-                    hpBar.addCandyCount(collectedCount);
-                }
-            }
+        // 掉洞或 HP 歸零 → 顯示遊戲結束畫面
+        if (world.isGameOver() && !gameOverUI.getIsGameOver()) {
+            gameOverUI.setGameOver(true);
 
-            // 2-3 HP / 存活時間（只在未 GameOver 時更新）
-            gameTime += deltaTime;
-            hpBar.update(deltaTime);
-            gameOverUI.updateSurvivalTime(deltaTime);
+            // 每一局結束時存一份幀時間摘要
+            dumpFrameTimings();
+        }
 
-            // HP 歸零的 Game Over：只在「還沒掉洞洞」時才會生效
-            if (!hasFallen && hpBar.isGameOver()) {
-                gameOverUI.setGameOver(true);
-                if (player != null) player.setGameOver(true);
-            }
+        // 角色動畫（物理已在 step 裡更新）
+        if (player != null) {
+            player.update(deltaTime);
         }
+    }
 
-        // 如果已經掉下去了 → 強制一直忽略地板，繼續往下掉
-        if (hasFallen && player != null) {
-            player.setIgnoreGroundCollision(true);
+    /**
+     * 把目前的畫面寫成繪製指令（由 GameThread 在 update 之後呼叫）
+     * @param interpolation 介於上一步(0)與目前這一步(1)之間的插值比例
+     */
+    public void writeFrame(RenderCommandBuffer out, float interpolation) {
+        out.clear();    // 預設是開始畫面
+
+        if (!startMenuUI.isStarted() || world == null) {
+            out.setMenu(startMenuUI.getAnimationTime(), startMenuUI.getLoadingProgress());
+            return;
         }
 
-        // 3️⃣ Player 一律更新（即使 GameOver 了，掉洞洞時還是會繼續掉）
-        if (player != null && !player.isGameOver()) {
-            player.update();
+        world.writeRenderCommands(out, interpolation,
+                (player != null) ? player.getFrameId() : -1);
+
+        if (gameOverUI.getIsGameOver()) {
+            out.setGameOver(gameOverUI.getGameOverShowTime());
         }
 
-        // 4️⃣ 掉進洞且掉到螢幕下方一段距離 → 把角色凍住（此時畫面上看不到他）
-        if (player != null && hasFallen && !player.isGameOver()) {
-            float screenHeight = getHeight();
-            if (player.getY() > screenHeight + 100) {
-                player.setGameOver(true);
-            }
+        // 追蹤用的計數器：場上糖果、地板圖塊、HP
+        if (GameTrace.ENABLED) {
+            GameTrace.counter("candies", world.getCandy().getLiveCandyCount());
+            GameTrace.counter("tiles", world.getGround().getTileCount());
+            GameTrace.counter("hp", (long) world.getHp().getCurrentHP());
         }
+
+        // 這一幀含有剛套用的跳躍 → RenderThread 送出時記錄延遲
+        out.setInputEventTime(pendingJumpEventTime);
+        pendingJumpEventTime = 0;
     }
 
-    @Override
-    public void draw(Canvas canvas) {
+    /**
+     * 依繪製指令畫出一幀（由 RenderThread 呼叫，不讀 world，開始 / 結束畫面也只用指令裡的數值）
+     */
+    public void render(Canvas canvas, RenderCommandBuffer frame) {
         if (canvas == null) return;
-        super.draw(canvas);
 
-        if (!startMenuUI.isStarted()) {
-            startMenuUI.draw(canvas);
-            return;
-        }
+        // ⭐ 動態解析度：Surface 比 View 小時放大畫布座標，下面照樣用遊戲座標畫
+        int viewWidth = getWidth();
+        float renderScale = (viewWidth > 0) ? canvas.getWidth() / (float) viewWidth : 1f;
+
+        canvas.save();
+        canvas.scale(renderScale, renderScale);
 
-        canvas.drawColor(Color.BLACK);
+        if (frame.getScreen() == RenderCommandBuffer.SCREEN_MENU) {
+            GameTrace.begin("draw.menu");
+            startMenuUI.draw(canvas, frame.getMenuAnimationTime(), frame.getLoadingProgress());
+            GameTrace.end();
+        } else {
+            // 清成透明，讓後面的天空透出來
+            canvas.drawColor(Color.TRANSPARENT, PorterDuff.Mode.CLEAR);
 
-        if (ground != null) ground.draw(canvas);
+            // ⭐ 地板 → 糖果 → 角色（角色會疊在糖果上面）→ HUD
+            renderer.setCanvas(canvas, renderScale);
+            frame.replay(renderer);
+        }
 
-        // ⭐ 先畫糖果，再畫角色，角色會疊在糖果上面
-        if (candy != null)  candy.draw(canvas);
+        canvas.restore();
+    }
 
-        // Player 會自己掉出螢幕；掉出畫面後因 Y > 螢幕高度，就自然看不到
-        if (player != null) player.draw(canvas, playerPaint);
+    /**
+     * 要求改變 Surface 的解析度（由 RenderThread 呼叫，交給 UI 執行緒套用）
+     * @param scale 1 = 和 View 一樣大
+     */
+    void requestRenderScale(float scale) {
+        post(() -> applyRenderScale(scale));
+    }
 
-        hpBar.draw(canvas);
-        gameOverUI.draw(canvas);
+    /**
+     * 設定 Surface 的緩衝區大小；系統會把它放大到 View 的大小顯示
+     * 觸控座標和遊戲座標都還是 View 的座標，碰撞和物理不受影響
+     */
+    private void applyRenderScale(float scale) {
+        int width = getWidth();
+        int height = getHeight();
+        if (width == 0 || height == 0) return;
+
+        if (scale >= 1f) {
+            getHolder().setSizeFromLayout();
+        } else {
+            getHolder().setFixedSize(Math.round(width * scale), Math.round(height * scale));
+        }
     }
 
     @Override
     public boolean onTouchEvent(MotionEvent event) {
-        float x = event.getX();
-        float y = event.getY();
-
         if (event.getAction() == MotionEvent.ACTION_DOWN) {
+            // UI 執行緒不直接改遊戲狀態，只記下位置和發生時間（奈秒）
+            long eventTimeNanos = (Build.VERSION.SDK_INT >= Build.VERSION_CODES.UPSIDE_DOWN_CAKE)
+                    ? event.getEventTimeNanos()
+                    : event.getEventTime() * 1_000_000L;
+            inputQueue.offer(InputEventQueue.TOUCH_DOWN, event.getX(), event.getY(), eventTimeNanos);
+            return true;
+        }
 
-            // 1️⃣ 還在開始畫面 → 處理開始按鈕
-            if (!startMenuUI.isStarted()) {
-                if (startMenuUI.onTouchEvent(x, y)) {
-                    lastUpdateTime = 0;
-                }
-                return true;
-            }
+        return false;
+    }
+
+    /**
+     * 處理一個觸控事件（在 GameThread 上）
+     */
+    private void applyInput(int type, float x, float y, long eventTimeNanos) {
+        if (type != InputEventQueue.TOUCH_DOWN) return;
 
-            // 2️⃣ Game Over 畫面 → 處理重新開始（要按到按鈕）
-            if (gameOverUI.getIsGameOver()) {
-                if (gameOverUI.onTouchEvent(x, y)) {
-                    restartGame();
-                }
-                return true;
+        // 1️⃣ 還在開始畫面 → 處理開始按鈕
+        if (!startMenuUI.isStarted()) {
+            startMenuUI.onTouchEvent(x, y);
+            return;
+        }
+
+        // 2️⃣ Game Over 畫面 → 處理重新開始（要按到按鈕）
+        if (gameOverUI.getIsGameOver()) {
+            if (gameOverUI.onTouchEvent(x, y)) {
+                restartGame();
             }
+            return;
+        }
 
-            // 3️⃣ 遊戲進行中 → 點一下就跳
-            if (player != null) {
-                player.jump();
+        // 3️⃣ 遊戲進行中 → 點一下就跳
+        if (world != null && world.jump()) {
+            latencyMonitor.onJumpApplied(eventTimeNanos);
+            if (pendingJumpEventTime == 0) {
+                pendingJumpEventTime = eventTimeNanos;
             }
-            return true;
         }
+    }
 
-        return false;
+    public InputLatencyMonitor getLatencyMonitor() {
+        return latencyMonitor;
+    }
+
+    public FrameTimings getFrameTimings() {
+        return frameTimings;
+    }
+
+    /**
+     * 把幀時間摘要寫到 app 的檔案目錄（filesDir/frame_timings.json、frame_timings.csv）
+     */
+    public void dumpFrameTimings() {
+        FrameTimingsExporter.export(getContext(), frameTimings);
+    }
+
+    /**
+     * 把觸控延遲統計寫到 app 的檔案目錄（filesDir/input_latency.txt），不在呼叫的執行緒上寫檔
+     */
+    public void dumpInputLatency() {
+        latencyMonitor.export(getContext().getFilesDir());
+    }
+
+    /**
+     * 設定跑速倍率（1 = 原本速度），地板、糖果一起變快變慢
+     */
+    public void setRunSpeedScale(float scale) {
+        this.runSpeedScale = scale;
+        if (world != null) {
+            world.setRunSpeedScale(scale);
+        }
+    }
+
+    public float getRunSpeedScale() {
+        return runSpeedScale;
     }
 
     private void restartGame() {
-        hpBar.reset();
+        // 在 GameThread 上、兩步之間執行，不會和 update 同時進行
         gameOverUI.reset();
-        lastUpdateTime = 0;
-        gameTime = 0;
-        hasFallen = false;      // 新的一局還沒掉洞
 
-        int w = getWidth();
-        int h = getHeight();
+        // 新的一局：HP、存活時間、鏡頭、掉洞狀態全部就地重設，
+        // 圖片、動畫和緩衝區都沿用，不重新解碼也不配置新物件
+        world.reset(40);       // 覺得太低可以改回不要 +40
+        if (player != null) player.reset();
+    }
+
+    /**
+     * 建立新的遊戲世界和開始 / 結束畫面；繪製物件等圖片預載完成後由 update 建立
+     * 和 GameThread 的 doFrame 鎖同一個物件，不會在一幀更新到一半時被換掉
+     * @param playerGroundOffset 角色腳底相對地板碰撞高度的偏移
+     */
+    private void createWorld(int w, int h, float playerGroundOffset) {
+        synchronized (getHolder()) {
+            startMenuUI = new StartMenuUI(w, h);
+            gameOverUI  = new GameOverUI(w, h);
+            renderer.setGameOverUI(gameOverUI);
+
+            world = new GameWorld(w, h, playerGroundOffset, new Random());
+            world.setRunSpeedScale(runSpeedScale);
+            if (GameTrace.ENABLED) {
+                world.setTracer(GameTrace.TRACER);   // 地板、糖果、碰撞、角色各一段
+            }
+
+            ground = null;
+            candy = null;
+            player = null;
+            renderer.setRenderers(null, null, null, null);
+        }
+    }
+
+    /**
+     * 建立地板、糖果、角色的繪製物件（在 GameThread 上呼叫，圖片已在快取中）
+     */
+    private void createRenderers() {
+        int w = world.getScreenWidth();
+        int h = world.getScreenHeight();
 
-        ground = new Ground(getContext(), w, h);
-        candy  = new Candy(getContext(), w, h);               // ⭐ 重建糖果
-        float groundY = Ground.GROUND_COLLISION_Y + 40;       // 覺得太低可以改回不要 +40
-        player = new Player(w, groundY);
+        ground = new Ground(assets, w, h, world.getGround());
+        candy  = new Candy(assets);               // ⭐ 重建糖果
+        player = new Player(world.getPlayer());
         player.setAnimations(
-                AnimationFactory.createRunAnimation(getContext()),
-                AnimationFactory.createJumpAnimation(getContext())
+                AnimationFactory.createRunAnimation(assets),
+                AnimationFactory.createJumpAnimation(assets)
         );
+        renderer.setRenderers(ground, candy, player, assets.getAtlas());
     }
 }
@@ -0,0 +1,35 @@
+package com.example.project_group08.game;
+
+import android.graphics.Canvas;
+import android.os.Build;
+import android.view.SurfaceHolder;
+
+import androidx.annotation.RequiresApi;
+
+/**
+ * 硬體加速畫布：lockHardwareCanvas（Android 8.0 以上），圖片貼圖交給 GPU
+ * 裝置不支援時 lockCanvas 會丟出例外，由 GameThread 自動改回軟體畫布
+ */
+@RequiresApi(Build.VERSION_CODES.O)
+public class HardwareCanvasBackend implements CanvasBackend {
+
+    @Override
+    public Canvas lockCanvas(SurfaceHolder holder) {
+        return holder.lockHardwareCanvas();
+    }
+
+    @Override
+    public void unlockCanvasAndPost(SurfaceHolder holder, Canvas canvas) {
+        holder.unlockCanvasAndPost(canvas);
+    }
+
+    @Override
+    public boolean isHardware() {
+        return true;
+    }
+
+    @Override
+    public String getName() {
+        return "hardware";
+    }
+}
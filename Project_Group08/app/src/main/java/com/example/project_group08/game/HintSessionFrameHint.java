@@ -0,0 +1,39 @@
+package com.example.project_group08.game;
+
+import android.os.Build;
+import android.os.PerformanceHintManager;
+
+import androidx.annotation.RequiresApi;
+
+/**
+ * PerformanceHintManager.Session 的包裝（Android 12 以上）
+ */
+@RequiresApi(Build.VERSION_CODES.S)
+class HintSessionFrameHint implements FrameHint {
+
+    private final PerformanceHintManager.Session session;
+
+    HintSessionFrameHint(PerformanceHintManager.Session session) {
+        this.session = session;
+    }
+
+    @Override
+    public void reportActualWorkDuration(long durationNanos) {
+        // 系統要求大於 0
+        if (durationNanos > 0) {
+            session.reportActualWorkDuration(durationNanos);
+        }
+    }
+
+    @Override
+    public void updateTargetWorkDuration(long targetNanos) {
+        if (targetNanos > 0) {
+            session.updateTargetWorkDuration(targetNanos);
+        }
+    }
+
+    @Override
+    public void close() {
+        session.close();
+    }
+}
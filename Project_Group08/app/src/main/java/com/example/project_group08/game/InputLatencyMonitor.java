@@ -0,0 +1,71 @@
+package com.example.project_group08.game;
+
+import android.util.Log;
+
+import com.example.project_group08.core.LatencyTracker;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * 觸控到畫面的延遲（每一次真的跳起來的 ACTION_DOWN）：
+ * - 觸控 → GameThread 套用跳躍
+ * - 觸控 → 含有這次跳躍的那一幀 unlockCanvasAndPost 送出
+ * 時間都是 System.nanoTime() 的時鐘，和 MotionEvent 的事件時間相同（CLOCK_MONOTONIC）
+ * 匯出時摘要在呼叫的執行緒上產生，寫檔交給共用的 ExportExecutor（onPause 時不會卡住 UI 執行緒）
+ */
+public class InputLatencyMonitor {
+
+    private static final String TAG = "InputLatencyMonitor";
+
+    public static final String FILE_NAME = "input_latency.txt";
+
+    // 最近幾次跳躍
+    private static final int WINDOW_SIZE = 256;
+
+    private final LatencyTracker toApplied = new LatencyTracker(WINDOW_SIZE);
+    private final LatencyTracker toPosted = new LatencyTracker(WINDOW_SIZE);
+
+    /** 跳躍已套用（在 GameThread 上） */
+    void onJumpApplied(long eventTimeNanos) {
+        toApplied.record(System.nanoTime() - eventTimeNanos);
+    }
+
+    /** 含有這次跳躍的一幀已送出（在 RenderThread 上） */
+    void onFramePosted(long eventTimeNanos) {
+        toPosted.record(System.nanoTime() - eventTimeNanos);
+    }
+
+    public LatencyTracker getInputToApplied() {
+        return toApplied;
+    }
+
+    public LatencyTracker getInputToPosted() {
+        return toPosted;
+    }
+
+    /**
+     * 目前統計的文字摘要（兩行）
+     */
+    public String toSummary() {
+        return "touch -> jump applied:  " + toApplied.toSummary() + "\n"
+                + "touch -> frame posted:  " + toPosted.toSummary() + "\n";
+    }
+
+    /**
+     * 把目前的統計寫到 dir/FILE_NAME（覆蓋舊的），寫檔在 ExportExecutor 上依序執行
+     */
+    public void export(File dir) {
+        String summary = toSummary();
+        File file = new File(dir, FILE_NAME);
+        ExportExecutor.execute(() -> {
+            try (Writer writer = new FileWriter(file)) {
+                writer.write(summary);
+            } catch (IOException e) {
+                Log.w(TAG, "Failed to write " + file, e);
+            }
+        });
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.project_group08.game;
+
+/**
+ * 不支援 PerformanceHintManager（Android 12 以前）時用：什麼都不做
+ */
+class NoOpFrameHint implements FrameHint {
+
+    static final NoOpFrameHint INSTANCE = new NoOpFrameHint();
+
+    private NoOpFrameHint() {
+    }
+
+    @Override
+    public void reportActualWorkDuration(long durationNanos) {
+    }
+
+    @Override
+    public void updateTargetWorkDuration(long targetNanos) {
+    }
+
+    @Override
+    public void close() {
+    }
+}
@@ -0,0 +1,217 @@
+package com.example.project_group08.game;
+
+import android.graphics.Canvas;
+import android.os.Debug;
+import android.os.Process;
+import android.util.Log;
+import android.view.SurfaceHolder;
+
+import com.example.project_group08.core.FrameTimings;
+import com.example.project_group08.core.QualityController;
+import com.example.project_group08.core.RenderCommandBuffer;
+import com.example.project_group08.core.RenderFrameExchange;
+
+/**
+ * 繪製執行緒
+ * 從 RenderFrameExchange 拿 GameThread 寫好的最新一幀繪製指令，鎖定畫布畫出來並送出。
+ * GameThread 算下一幀的同時，這裡畫上一幀，兩個核心可以同時工作。
+ * - 畫布透過 CanvasBackend 取得（軟體或硬體加速），硬體畫布丟出例外、
+ *   或 Surface 還在卻連續好幾幀拿不到畫布時，自動改回軟體
+ * - 和 GameThread 一樣用顯示優先權，並透過 FrameHint 回報每一幀畫了多久
+ * - 畫太慢時由 QualityController 降低 Surface 解析度，有餘裕再調回來
+ * - 從 lockCanvas 到 unlockCanvasAndPost 都握著 surfaceLock；Surface 銷毀時
+ *   setSurfaceValid(false) 會等這一幀送出才返回，之後就不再碰 Surface
+ */
+class RenderThread extends Thread {
+
+    private static final String TAG = "RenderThread";
+
+    // Surface 有效時硬體畫布連續幾次回傳 null 就改用軟體畫布（60 Hz 約半秒）
+    private static final int MAX_HARDWARE_NULL_LOCKS = 30;
+
+    private final SurfaceHolder surfaceHolder;
+    private final GameView gameView;
+    private final RenderFrameExchange exchange;
+
+    // 取得畫布的方式，預設軟體畫布，由 GameView 依設定替換
+    private volatile CanvasBackend canvasBackend = new SoftwareCanvasBackend();
+    private int hardwareNullLocks = 0;    // 只在這條執行緒上使用
+
+    // 上一次有沒有拿到畫布（Surface 不在時 GameThread 就不累積時間）
+    private volatile boolean canvasAvailable = false;
+
+    // Surface 是否可以畫（受 surfaceLock 保護）
+    private final Object surfaceLock = new Object();
+    private boolean surfaceValid = false;
+
+    // 每一幀的時間預算（vsync 週期），由 GameThread 依更新率設定
+    private volatile long targetFrameNanos;
+    private long hintTargetNanos;
+    private FrameHint frameHint = NoOpFrameHint.INSTANCE;
+
+    // ⭐ 動態解析度（只在這條執行緒上使用）
+    private final QualityController quality = new QualityController();
+
+    RenderThread(SurfaceHolder surfaceHolder, GameView gameView, RenderFrameExchange exchange,
+                 long targetFrameNanos) {
+        super("RenderThread");
+        this.surfaceHolder = surfaceHolder;
+        this.gameView = gameView;
+        this.exchange = exchange;
+        this.targetFrameNanos = targetFrameNanos;
+    }
+
+    @Override
+    public void run() {
+        // 畫面相關的執行緒，避免被排到背景工作後面
+        Process.setThreadPriority(Process.THREAD_PRIORITY_DISPLAY);
+        hintTargetNanos = targetFrameNanos;
+        frameHint = FrameHint.create(gameView.getContext(), Process.myTid(), hintTargetNanos);
+
+        try {
+            while (true) {
+                RenderCommandBuffer frame = exchange.awaitFrame();
+                if (frame == null) break;   // 已經停止
+
+                renderFrame(frame);
+            }
+        } catch (InterruptedException e) {
+            // 被中斷就結束
+        } finally {
+            frameHint.close();
+        }
+    }
+
+    private void renderFrame(RenderCommandBuffer frame) {
+        // 這一幀固定用同一個 backend 鎖定和送出畫布
+        CanvasBackend backend = canvasBackend;
+
+        long cpuStartNanos = Debug.threadCpuTimeNanos();
+        long lockStartNanos;
+        long workStartNanos;
+        long postStartNanos;
+
+        synchronized (surfaceLock) {
+            // Surface 已經銷毀 → 不鎖定畫布
+            if (!surfaceValid) {
+                canvasAvailable = false;
+                return;
+            }
+
+            lockStartNanos = System.nanoTime();
+            GameTrace.begin("lockCanvas");
+            Canvas canvas = lockCanvas(backend);
+            GameTrace.end();
+            canvasAvailable = (canvas != null);
+            if (canvas == null) return;
+
+            // 等畫布的時間不算工作時間，從拿到畫布開始算
+            workStartNanos = System.nanoTime();
+            postStartNanos = workStartNanos;
+            try {
+                GameTrace.begin("draw");
+                gameView.render(canvas, frame);
+                GameTrace.end();
+                postStartNanos = System.nanoTime();
+            } finally {
+                GameTrace.begin("unlockCanvasAndPost");
+                backend.unlockCanvasAndPost(surfaceHolder, canvas);
+                GameTrace.end();
+            }
+        }
+        long endNanos = System.nanoTime();
+        reportWork(endNanos - workStartNanos);
+
+        // 各階段時間：等畫布、畫、送出、執行緒 CPU 時間
+        FrameTimings timings = gameView.getFrameTimings();
+        timings.record(FrameTimings.PHASE_LOCK_CANVAS, workStartNanos - lockStartNanos);
+        timings.record(FrameTimings.PHASE_DRAW, postStartNanos - workStartNanos);
+        timings.record(FrameTimings.PHASE_UNLOCK_POST, endNanos - postStartNanos);
+        if (cpuStartNanos >= 0) {
+            timings.record(FrameTimings.PHASE_RENDER_CPU, Debug.threadCpuTimeNanos() - cpuStartNanos);
+        }
+
+        // 這一幀含有觸控造成的跳躍 → 記錄觸控到送出的延遲
+        long inputEventTime = frame.getInputEventTimeNanos();
+        if (inputEventTime != 0) {
+            gameView.getLatencyMonitor().onFramePosted(inputEventTime);
+        }
+    }
+
+    /**
+     * 硬體畫布不支援時改用軟體畫布，這一幀先跳過：
+     * - lockHardwareCanvas 丟出例外
+     * - Surface 有效（呼叫端已經確認）卻連續 MAX_HARDWARE_NULL_LOCKS 次回傳 null
+     */
+    private Canvas lockCanvas(CanvasBackend backend) {
+        Canvas canvas;
+        try {
+            canvas = backend.lockCanvas(surfaceHolder);
+        } catch (RuntimeException e) {
+            if (!backend.isHardware()) throw e;
+
+            Log.w(TAG, "Hardware canvas unavailable, falling back to software", e);
+            fallBackToSoftware();
+            return null;
+        }
+
+        if (canvas != null || !backend.isHardware()) {
+            hardwareNullLocks = 0;
+        } else if (++hardwareNullLocks >= MAX_HARDWARE_NULL_LOCKS) {
+            Log.w(TAG, "Hardware canvas returned null " + hardwareNullLocks
+                    + " times on a valid surface, falling back to software");
+            fallBackToSoftware();
+        }
+        return canvas;
+    }
+
+    private void fallBackToSoftware() {
+        hardwareNullLocks = 0;
+        canvasBackend = new SoftwareCanvasBackend();
+    }
+
+    private void reportWork(long workNanos) {
+        long target = targetFrameNanos;
+        if (target != hintTargetNanos) {
+            hintTargetNanos = target;
+            frameHint.updateTargetWorkDuration(target);
+        }
+        frameHint.reportActualWorkDuration(workNanos);
+
+        if (quality.onFrame(workNanos, target)) {
+            Log.d(TAG, "render scale -> " + quality.getScale()
+                    + " (avg " + quality.getLastAverageNanos() / 1000 + " us, budget " + target / 1000 + " us)");
+            gameView.requestRenderScale(quality.getScale());
+        }
+    }
+
+    /**
+     * Surface 建立 / 銷毀時呼叫（在 UI 執行緒上）
+     * 設成 false 時，如果這裡正拿著畫布，會等它送出才返回
+     */
+    void setSurfaceValid(boolean valid) {
+        synchronized (surfaceLock) {
+            surfaceValid = valid;
+            if (!valid) {
+                canvasAvailable = false;
+            }
+        }
+    }
+
+    /** 每一幀的時間預算（下一幀開始生效） */
+    void setTargetFrameNanos(long targetNanos) {
+        this.targetFrameNanos = targetNanos;
+    }
+
+    boolean isCanvasAvailable() {
+        return canvasAvailable;
+    }
+
+    void setCanvasBackend(CanvasBackend backend) {
+        this.canvasBackend = backend;
+    }
+
+    CanvasBackend getCanvasBackend() {
+        return canvasBackend;
+    }
+}
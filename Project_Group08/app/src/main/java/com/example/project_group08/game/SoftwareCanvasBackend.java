@@ -0,0 +1,30 @@
+package com.example.project_group08.game;
+
+import android.graphics.Canvas;
+import android.view.SurfaceHolder;
+
+/**
+ * 軟體畫布：lockCanvas，所有繪製都在 CPU 上完成（每台裝置都支援）
+ */
+public class SoftwareCanvasBackend implements CanvasBackend {
+
+    @Override
+    public Canvas lockCanvas(SurfaceHolder holder) {
+        return holder.lockCanvas(null);
+    }
+
+    @Override
+    public void unlockCanvasAndPost(SurfaceHolder holder, Canvas canvas) {
+        holder.unlockCanvasAndPost(canvas);
+    }
+
+    @Override
+    public boolean isHardware() {
+        return false;
+    }
+
+    @Override
+    public String getName() {
+        return "software";
+    }
+}
@@ -1,30 +1,54 @@
 package com.example.project_group08.player;
 
-import android.graphics.Bitmap;
+import android.graphics.Rect;
 
+import com.example.project_group08.asset.SpriteAtlas;
+
+/**
+ * 動畫：每一格是圖集（SpriteAtlas）上的一張圖（以編號記錄），不再各自持有一張 Bitmap
+ */
 public class Animation {
-    private Bitmap[] frames;
+    private final SpriteAtlas atlas;
+    private final int[] frames;      // 每一格的圖片編號（SpriteAtlas.RUN1 ...）
     private int frameIndex = 0;
-    private long frameTime;
-    private long lastFrameChange;
+    private long frameTime;          // 每張圖顯示多久（毫秒）
+    private float elapsedMillis = 0; // 目前這張已經顯示多久（毫秒）
 
-    public Animation(Bitmap[] frames, long frameTime) {
+    public Animation(SpriteAtlas atlas, int[] frames, long frameTime) {
+        this.atlas = atlas;
         this.frames = frames;
         this.frameTime = frameTime;
-        this.lastFrameChange = System.currentTimeMillis();
     }
 
-    public void update(){
-        long now = System.currentTimeMillis();
-        if (now - lastFrameChange > frameTime) {
+    /**
+     * @param deltaTime 經過的時間(秒)，跟著遊戲時間走，暫停或補幀時才不會亂跳
+     */
+    public void update(float deltaTime){
+        elapsedMillis += deltaTime * 1000f;
+        if (elapsedMillis > frameTime) {
             frameIndex = (frameIndex + 1) % frames.length;
-            lastFrameChange = now;
+            elapsedMillis = 0;
         }
     }
 
-    public Bitmap getFrame(){
-        return  frames[frameIndex];
+    /** 回到第一格（重新開始時用） */
+    public void reset() {
+        frameIndex = 0;
+        elapsedMillis = 0;
+    }
+
+    public SpriteAtlas getAtlas() {
+        return atlas;
     }
 
+    /** 目前這一格的圖片編號 */
+    public int getFrameId() {
+        return frames[frameIndex];
+    }
+
+    /** 目前這一格在圖集上的範圍 */
+    public Rect getFrame(){
+        return atlas.getRegion(frames[frameIndex]);
+    }
 
 }
@@ -1,35 +1,29 @@
 package com.example.project_group08.player;
 
-import android.content.Context;
-import android.graphics.Bitmap;
-import android.graphics.BitmapFactory;
-
-import com.example.project_group08.R;
+import com.example.project_group08.asset.GameAssets;
+import com.example.project_group08.asset.SpriteAtlas;
 
 public class AnimationFactory {
-    public static Animation createRunAnimation(Context ctx) {
+    public static Animation createRunAnimation(GameAssets assets) {
+        SpriteAtlas atlas = assets.getAtlas();
         return new Animation(
-                new Bitmap[]{
-                        BitmapFactory.decodeResource(ctx.getResources(), R.drawable.run1),
-                        BitmapFactory.decodeResource(ctx.getResources(), R.drawable.run2)
+                atlas,
+                new int[]{
+                        SpriteAtlas.RUN1,
+                        SpriteAtlas.RUN2
                 },
                 120 // 每 120ms 換一張
         );
     }
 
-    public static Animation createJumpAnimation(Context ctx){
+    public static Animation createJumpAnimation(GameAssets assets){
+        SpriteAtlas atlas = assets.getAtlas();
         return new Animation(
-                new Bitmap[]{
-                        BitmapFactory.decodeResource(ctx.getResources(), R.drawable.jump)
+                atlas,
+                new int[]{
+                        SpriteAtlas.JUMP
                 },
                 200 // 單一張就不會循環，但這樣寫比較一致
         );
     }
-
-    public static Bitmap getCandyBitmap(Context context) {
-        return BitmapFactory.decodeResource(
-                context.getResources(),
-                R.drawable.candy  // candy.png
-        );
-    }
 }
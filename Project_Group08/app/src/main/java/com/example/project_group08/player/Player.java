@@ -6,55 +6,31 @@ import android.graphics.Paint;
 import android.graphics.Rect;
 import android.graphics.RectF;
 
+import com.example.project_group08.asset.SpriteAtlas;
+import com.example.project_group08.core.PlayerModel;
+
 /**
- * 負責「角色本體＋跳躍邏輯＋動畫顯示」的類別
- * - x：固定在畫面 1/4 位置
- * - y：由重力控制，只管上下（y 代表腳底）
+ * 負責「角色動畫顯示」的類別
+ * 跳躍、重力、落地等物理在 core 的 PlayerModel，這裡只依它的狀態切換動畫（在模擬執行緒上）；
+ * 畫的時候只用繪製指令裡的動畫格和位置（在繪製執行緒上），不讀 model
  */
 public class Player {
 
-    // 固定 X 位置
-    private final float x;
-
-    // 垂直位置與速度（y 代表腳底）
-    private float y;
-    private float velocityY;
-
-    // 狀態
-    private boolean isJumping = false;
-    private boolean isGameOver = false;
-
-    // ⭐ 踩到洞洞後，忽略地板碰撞，讓角色自由落體
-    private boolean ignoreGroundCollision = false;
-
-    // 地板高度（腳底的 Y），由外部提供
-    private float groundY;
-
-    // 角色寬高（之後會依據動畫圖片調整）
-    private float width;
-    private float height;
-
-    // 物理參數（之後可以自己微調）
-    private static final float GRAVITY = 1.0f;       // 重力加速度
-    private static final float JUMP_VELOCITY = -25f; // 起跳初速（負值往上）
+    private final PlayerModel model;
 
     // ====== 動畫相關 ======
     private Animation runAnim;
     private Animation jumpAnim;
-    private Sprite sprite;          // 負責真正畫出 bitmap
-
-    public Player(float screenWidth, float groundY) {
-        // 固定在畫面 1/4
-        this.x = screenWidth * 0.25f;
-
-        this.groundY = groundY;
-        this.y = groundY;
+    private Sprite sprite;          // 目前播放的動畫
 
-        this.velocityY = 0f;
+    // 畫圖 / 沒有動畫時畫矩形用
+    private final RectF destRect = new RectF();
+    private SpriteAtlas atlas;
+    private float width;
+    private float height;
 
-        // 先給一個預設大小（如果沒設定動畫時用）
-        this.width = 80f;
-        this.height = 120f;
+    public Player(PlayerModel model) {
+        this.model = model;
     }
 
     /**
@@ -67,145 +43,95 @@ public class Player {
         // 預設先用跑步動畫
         if (runAnim != null) {
             this.sprite = new Sprite(runAnim);
+            this.atlas = runAnim.getAtlas();
 
             // 根據第一張圖來調整寬高，讓碰撞盒跟圖片一致
-            Bitmap frame = runAnim.getFrame();
-            if (frame != null) {
-                this.width = frame.getWidth() * 0.7f;
-                this.height = frame.getHeight() * 0.05f;  // 保留你原本的設定
+            Rect frame = runAnim.getFrame();
+            if (!frame.isEmpty()) {
+                model.setSize(
+                        frame.width() * 0.7f,
+                        frame.height() * 0.05f);  // 保留你原本的設定
             }
         }
-    }
-
-    /** 讓外部更新地板高度（例如場景改變） */
-    public void setGroundY(float groundY) {
-        this.groundY = groundY;
-        if (y > groundY) {
-            y = groundY;
-            velocityY = 0;
-            isJumping = false;
-        }
-    }
 
-    /** 讓遊戲結束時把角色凍住 */
-    public void setGameOver(boolean gameOver) {
-        this.isGameOver = gameOver;
+        width = model.getWidth();
+        height = model.getHeight();
     }
 
-    /** 踩到洞洞時，忽略地板碰撞，開始往下掉 */
-    public void setIgnoreGroundCollision(boolean ignore) {
-        this.ignoreGroundCollision = ignore;
-
-        // 只要在洞洞上，就算是在空中 → 用跳躍 / 掉落動畫
-        if (ignore) {
-            this.isJumping = true;
-        }
-    }
-
-    /** 對外的跳躍接口：不在空中、沒 GameOver 才能跳 */
-    public void jump() {
-        if (!isJumping && !isGameOver) {
-            velocityY = JUMP_VELOCITY;
-            isJumping = true;
-        }
-    }
-
-    /** 內部用：套用重力，更新 y 位置 */
-    private void applyGravity() {
-        velocityY += GRAVITY;
-        y += velocityY;
-
-        // ⭐ 只有「沒有踩到洞洞」時才會被地板接住
-        if (!ignoreGroundCollision && y >= groundY) {
-            y = groundY;
-            velocityY = 0;
-            isJumping = false;
+    /**
+     * 重新開始：動畫回到跑步的第一格，沿用同一組動畫和圖集
+     */
+    public void reset() {
+        if (runAnim != null) runAnim.reset();
+        if (jumpAnim != null) jumpAnim.reset();
+        if (sprite != null && runAnim != null) {
+            sprite.setAnimation(runAnim);
         }
-        // 如果 ignoreGroundCollision == true → 不進來這個 if，
-        // 角色就會一路往下掉，直到 GameView 判定 Game Over。
     }
 
-    /** 每一幀更新角色邏輯（垂直運動＋動畫） */
-    public void update() {
-        if (isGameOver) {
+    /**
+     * 每一步更新動畫（物理已由 PlayerModel 更新）
+     * @param deltaTime 經過的時間(秒)
+     */
+    public void update(float deltaTime) {
+        if (model.isGameOver()) {
             return; // 遊戲結束就不動
         }
 
-        // 物理
-        applyGravity();
-
         // 動畫更新
         if (sprite != null) {
             // 依照是否在空中切換動畫
-            if (isJumping && jumpAnim != null) {
+            if (model.isJumping() && jumpAnim != null) {
                 sprite.setAnimation(jumpAnim);
             } else if (runAnim != null) {
                 sprite.setAnimation(runAnim);
             }
 
-            sprite.update();
+            sprite.update(deltaTime);
         }
     }
 
     /**
-     * 畫出角色：
-     * - 如果有動畫，就畫 sprite（動畫）
-     * - 如果還沒設定動畫，就退回畫矩形
+     * 目前的動畫格（SpriteAtlas 的圖片編號），還沒設定動畫時為 -1
+     * 在模擬執行緒上讀，放進繪製指令
      */
-    public void draw(Canvas canvas, Paint paint) {
-        // 計算角色左上角位置（因為 y 是「腳底」、x 是「中心」）
-        float left = x - width / 2f;
-        float top = y - height;
-        float right = left + width;
-        float bottom = top + height;
+    public int getFrameId() {
+        return (sprite != null) ? sprite.getAnimation().getFrameId() : -1;
+    }
 
-        if (sprite != null) {
-            // 使用動畫貼圖
-            sprite.draw(canvas, left, top);
+    /**
+     * 畫出角色（在繪製執行緒上呼叫）：
+     * - 有動畫格，就從圖集畫那一格
+     * - 還沒設定動畫時，退回畫矩形
+     * @param scaledAtlas 這一幀用的縮小圖集（動態解析度降低時），null = 用原本的圖集
+     * @param frameId 繪製指令裡的動畫格
+     * @param left 左上角 X
+     * @param top 左上角 Y
+     */
+    public void draw(Canvas canvas, SpriteAtlas scaledAtlas, Paint paint, int frameId, float left, float top) {
+        SpriteAtlas source = (scaledAtlas != null && atlas != null) ? scaledAtlas : atlas;
+        Bitmap atlasBitmap = (source != null) ? source.getBitmap() : null;
+
+        if (frameId >= 0 && atlasBitmap != null) {
+            // 從圖集取出這一格，原尺寸畫在 (left, top)
+            Rect frame = source.getRegion(frameId);
+            destRect.set(left, top, left + source.getWidth(frameId), top + source.getHeight(frameId));
+            canvas.drawBitmap(atlasBitmap, frame, destRect, null);
 
             // debug 要看碰撞框可以打開這段：
             // if (paint != null) {
-            //     canvas.drawRect(new RectF(left, top, right, bottom), paint);
+            //     canvas.drawRect(left, top, left + width, top + height, paint);
             // }
         } else {
             // 沒有設定動畫時，用原本的矩形方式顯示
             if (paint != null) {
-                canvas.drawRect(new RectF(left, top, right, bottom), paint);
+                destRect.set(left, top, left + width, top + height);
+                canvas.drawRect(destRect, paint);
             }
         }
     }
 
-    // ====== 一些 getter，給其他系統（例如碰撞判斷）用 ======
-    public float getX() {
-        return x;
-    }
-
-    /** 回傳腳底的 Y（給 Ground.isPlayerFalling 用） */
-    public float getY() {
-        return y;
-    }
-
-    public boolean isJumping() {
-        return isJumping;
-    }
-
-    public boolean isGameOver() {
-        return isGameOver;
-    }
-
-    // ⭐ 新增：回傳角色的碰撞框（給 Candy 做碰撞判斷）
-    public Rect getCollisionRect() {
-        float left = x - width / 2f;
-        float top = y - height;
-        float right = left + width;
-        float bottom = top + height;
-
-        // 也可以視覺上縮小一點碰撞框，例如 *0.8f，有需要再調
-        return new Rect(
-                (int) left,
-                (int) top,
-                (int) right,
-                (int) bottom
-        );
+    public PlayerModel getModel() {
+        return model;
     }
 }
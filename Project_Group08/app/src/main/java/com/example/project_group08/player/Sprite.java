@@ -1,10 +1,11 @@
 package com.example.project_group08.player;
 
-import android.graphics.Bitmap;
-import android.graphics.Canvas;
-
+/**
+ * 目前播放中的動畫（跑步 / 跳躍切換）；真正的繪製在 Player.draw，依繪製指令裡的動畫格從圖集畫出
+ */
 public class Sprite {
     private Animation animation;
+
     public Sprite(Animation animation){
         this.animation = animation;
     }
@@ -14,12 +15,11 @@ public class Sprite {
         this.animation = animation;
     }
 
-    public void update(){
-        animation.update();
+    public Animation getAnimation() {
+        return animation;
     }
 
-    public void draw(Canvas canvas, float x, float y){
-        Bitmap frame = animation.getFrame();
-        canvas.drawBitmap(frame, x, y, null);
+    public void update(float deltaTime){
+        animation.update(deltaTime);
     }
 }
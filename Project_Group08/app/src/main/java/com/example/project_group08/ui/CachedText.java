@@ -0,0 +1,58 @@
+package com.example.project_group08.ui;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+
+/**
+ * 固定不變的大標題（有陰影、描邊）先畫成一張圖，之後每一幀只貼圖
+ * 用法和 canvas.drawText 一樣：給 X 和基線 Y，依第一個 Paint 的對齊方式擺放
+ */
+public class CachedText {
+
+    private final Bitmap bitmap;
+    private final float anchorX;    // 圖上對應 drawText 的 X 的位置
+    private final float anchorY;    // 圖上基線的位置
+
+    /**
+     * @param padding 四周預留的空間（陰影半徑 + 位移、描邊寬度）
+     * @param paints 依序疊上去的畫筆（例如先描邊再填色）
+     */
+    public CachedText(String text, int padding, Paint... paints) {
+        Paint first = paints[0];
+        Paint.FontMetrics metrics = first.getFontMetrics();
+
+        float textWidth = 0;
+        for (Paint paint : paints) {
+            textWidth = Math.max(textWidth, paint.measureText(text));
+        }
+
+        int width = (int) Math.ceil(textWidth) + padding * 2;
+        int height = (int) Math.ceil(metrics.bottom - metrics.top) + padding * 2;
+        bitmap = Bitmap.createBitmap(Math.max(1, width), Math.max(1, height), Bitmap.Config.ARGB_8888);
+
+        Paint.Align align = first.getTextAlign();
+        if (align == Paint.Align.CENTER) {
+            anchorX = width / 2f;
+        } else if (align == Paint.Align.RIGHT) {
+            anchorX = width - padding;
+        } else {
+            anchorX = padding;
+        }
+        anchorY = padding - metrics.top;
+
+        Canvas canvas = new Canvas(bitmap);
+        for (Paint paint : paints) {
+            canvas.drawText(text, anchorX, anchorY, paint);
+        }
+        bitmap.prepareToDraw();
+    }
+
+    /**
+     * @param x 和 drawText 相同的 X（依對齊方式）
+     * @param baseline 文字基線的 Y
+     */
+    public void draw(Canvas canvas, float x, float baseline) {
+        canvas.drawBitmap(bitmap, x - anchorX, baseline - anchorY, null);
+    }
+}
@@ -5,6 +5,11 @@ import android.graphics.Paint;
 import android.graphics.Color;
 import android.graphics.RectF;
 
+/**
+ * 遊戲結束畫面
+ * 狀態（是否結束、存活時間、顯示多久）只在模擬執行緒上改；
+ * 繪製執行緒用 draw 時只看繪製指令裡的數值，不讀這些狀態
+ */
 public class GameOverUI {
     private boolean isGameOver = false;
     private int survivalTime = 0;
@@ -20,6 +25,10 @@ public class GameOverUI {
 
     private RectF restartButton;
 
+    // ⭐ 有陰影的固定文字先畫成圖，每一幀只貼圖
+    private CachedText gameOverText;
+    private CachedText restartText;
+
     private int screenWidth = 800;
     private int screenHeight = 1200;
 
@@ -82,6 +91,9 @@ public class GameOverUI {
                 buttonCenterX + buttonWidth / 2,
                 buttonCenterY + buttonHeight / 2
         );
+
+        gameOverText = new CachedText("遊戲結束", 32, gameOverPaint);
+        restartText = new CachedText("重新開始", 8, buttonTextPaint);
     }
 
     /**
@@ -102,10 +114,19 @@ public class GameOverUI {
     }
 
     /**
-     * 繪製遊戲結束介面
+     * 結束畫面顯示的時間（縮放動畫用）
      */
-    public void draw(Canvas canvas) {
-        if (!isGameOver) return;
+    public void update(float deltaTime) {
+        if (isGameOver) {
+            gameOverShowTime += deltaTime;
+        }
+    }
+
+    /**
+     * 繪製遊戲結束介面（在繪製執行緒上，數值來自繪製指令）
+     * @param gameOverShowTime 結束畫面已經顯示多久（秒）
+     */
+    public void draw(Canvas canvas, float gameOverShowTime) {
         if (canvas == null) return;
 
         // 繪製半透明背景
@@ -119,10 +140,9 @@ public class GameOverUI {
         canvas.scale(scale, scale, screenWidth / 2f, screenHeight / 2f - 150);
 
         // 繪製「遊戲結束」文字 - 超大
-        canvas.drawText("遊戲結束",
+        gameOverText.draw(canvas,
                 screenWidth / 2f,
-                screenHeight / 2f - 150,
-                gameOverPaint);
+                screenHeight / 2f - 150);
 
         canvas.restore();
 
@@ -130,10 +150,9 @@ public class GameOverUI {
         canvas.drawRoundRect(restartButton, 40, 40, buttonPaint);
         canvas.drawRoundRect(restartButton, 40, 40, buttonBorderPaint);
 
-        canvas.drawText("重新開始",
+        restartText.draw(canvas,
                 restartButton.centerX(),
-                restartButton.centerY() + 30,
-                buttonTextPaint);
+                restartButton.centerY() + 30);
     }
 
     /**
@@ -160,4 +179,8 @@ public class GameOverUI {
     public int getSurvivalTime() {
         return survivalTime;
     }
+
+    public float getGameOverShowTime() {
+        return gameOverShowTime;
+    }
 }
@@ -0,0 +1,139 @@
+package com.example.project_group08.ui;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.graphics.RectF;
+
+/**
+ * HUD 數字用的字形圖集：
+ * 0~9、「/」、「%」和一個固定標籤（例如 "HP: "）事先用 Paint 畫到一張圖上，
+ * 之後每次只要把數字寫進重複使用的 char[]，再一格一格貼圖，不建字串也不重新排版文字
+ */
+public class GlyphAtlas {
+
+    private static final String GLYPHS = "0123456789/%";
+    private static final int PADDING = 2;
+
+    private final Bitmap bitmap;
+    private final int ascent;    // 基線以上的高度（像素）
+
+    private final Rect[] glyphRects = new Rect[GLYPHS.length()];
+    private final float[] glyphAdvances = new float[GLYPHS.length()];
+    private final Rect labelRect;
+    private final float labelAdvance;
+
+    private final RectF destRect = new RectF();   // 重複使用，繪製時不配置新物件
+
+    /**
+     * @param paint 文字的顏色、大小、字型（對齊方式會當作靠左）
+     * @param label 固定標籤，之後用 drawLabel 畫出
+     */
+    public GlyphAtlas(Paint paint, String label) {
+        Paint glyphPaint = new Paint(paint);
+        glyphPaint.setTextAlign(Paint.Align.LEFT);
+
+        Paint.FontMetrics metrics = glyphPaint.getFontMetrics();
+        ascent = (int) Math.ceil(-metrics.top);
+        int cellHeight = ascent + (int) Math.ceil(metrics.bottom);
+
+        // 先量好每一格的寬度，全部排成一列
+        int width = 0;
+        for (int i = 0; i < GLYPHS.length(); i++) {
+            glyphAdvances[i] = glyphPaint.measureText(GLYPHS, i, i + 1);
+            width += (int) Math.ceil(glyphAdvances[i]) + PADDING;
+        }
+        labelAdvance = glyphPaint.measureText(label);
+        width += (int) Math.ceil(labelAdvance) + PADDING;
+
+        bitmap = Bitmap.createBitmap(Math.max(1, width), Math.max(1, cellHeight), Bitmap.Config.ARGB_8888);
+        Canvas canvas = new Canvas(bitmap);
+
+        int x = 0;
+        for (int i = 0; i < GLYPHS.length(); i++) {
+            int cellWidth = (int) Math.ceil(glyphAdvances[i]);
+            canvas.drawText(GLYPHS, i, i + 1, x, ascent, glyphPaint);
+            glyphRects[i] = new Rect(x, 0, x + cellWidth, cellHeight);
+            x += cellWidth + PADDING;
+        }
+        int labelWidth = (int) Math.ceil(labelAdvance);
+        canvas.drawText(label, x, ascent, glyphPaint);
+        labelRect = new Rect(x, 0, x + labelWidth, cellHeight);
+
+        // 畫好之後就不會再改，先上傳到 GPU
+        bitmap.prepareToDraw();
+    }
+
+    /**
+     * 把整數寫進 out（從 offset 開始），不建立字串
+     * @return 寫完之後的下一個位置
+     */
+    public static int formatInt(int value, char[] out, int offset) {
+        if (value < 0) {
+            out[offset++] = '-';
+            value = -value;
+        }
+
+        // 先算位數，再從個位數往前填
+        int digits = 1;
+        for (int v = value / 10; v > 0; v /= 10) {
+            digits++;
+        }
+
+        int end = offset + digits;
+        for (int i = end - 1; i >= offset; i--) {
+            out[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return end;
+    }
+
+    /**
+     * 畫出固定標籤
+     * @param baseline 文字基線的 Y
+     * @return 標籤右邊的 X（接著畫數字用）
+     */
+    public float drawLabel(Canvas canvas, float x, float baseline) {
+        return drawCell(canvas, labelRect, labelAdvance, x, baseline);
+    }
+
+    /** 固定標籤的寬度 */
+    public float getLabelWidth() {
+        return labelAdvance;
+    }
+
+    /**
+     * chars 前 count 個字元畫出來的寬度（置中對齊用）
+     */
+    public float measureChars(char[] chars, int count) {
+        float width = 0;
+        for (int i = 0; i < count; i++) {
+            int glyph = GLYPHS.indexOf(chars[i]);
+            if (glyph >= 0) width += glyphAdvances[glyph];
+        }
+        return width;
+    }
+
+    /**
+     * 畫出 chars 前 count 個字元（只支援 0~9、「/」和「%」，其他字元略過）
+     * @return 最後一個字右邊的 X
+     */
+    public float drawChars(Canvas canvas, char[] chars, int count, float x, float baseline) {
+        for (int i = 0; i < count; i++) {
+            int glyph = GLYPHS.indexOf(chars[i]);
+            if (glyph < 0) continue;
+            x = drawCell(canvas, glyphRects[glyph], glyphAdvances[glyph], x, baseline);
+        }
+        return x;
+    }
+
+    private float drawCell(Canvas canvas, Rect cell, float advance, float x, float baseline) {
+        // 對齊整數像素，原尺寸貼上才不會糊
+        float left = Math.round(x);
+        float top = Math.round(baseline) - ascent;
+        destRect.set(left, top, left + cell.width(), top + cell.height());
+        canvas.drawBitmap(bitmap, cell, destRect, null);
+        return x + advance;
+    }
+}
@@ -1,18 +1,18 @@
 package com.example.project_group08.ui;
 
+import android.graphics.Bitmap;
 import android.graphics.Canvas;
 import android.graphics.Paint;
 import android.graphics.Color;
-
+import android.graphics.RectF;
+
+/**
+ * 血條與糖果數的繪製，數值來自繪製指令的 HUD（由 core 的 HpModel 寫入）
+ * 先畫到一張獨立的圖層，只有整數 HP 或糖果數改變時才重畫，每一幀只貼一次圖層
+ * 動態解析度降低時（軟體畫布被 scale 縮小），圖層也用同樣的倍率重建，貼上去一個像素對一個像素
+ * 數字用 GlyphAtlas 貼字形，重畫時也不建立字串
+ */
 public class HpBar {
-    private float maxHP = 100;
-    private float currentHP = 100;
-    private float hpDecayPerSecond = 2.5f;  // 每秒扣 2.5 HP
-
-    private int candyCount = 0;  // 糖果計數
-    private static final int CANDIES_FOR_HEALING = 50;  // 50 顆糖果回血
-    private static final float HP_RECOVER_AMOUNT = 25f;  // 回復 25 HP
-
     private float x = 20;
     private float y = 30;
     private float barWidth = 400;  // 改大一倍
@@ -24,6 +24,20 @@ public class HpBar {
     private Paint whitePaint;
     private Paint candyPaint;
 
+    // ⭐ HUD 圖層：大小涵蓋血條和右邊兩行文字
+    private static final int LAYER_TEXT_WIDTH = 360;
+    private Bitmap layer;
+    private Canvas layerCanvas;
+    private float layerScale = 1f;     // 圖層目前的解析度倍率
+    private final RectF layerRect;     // 圖層在畫面上的範圍（遊戲座標）
+    private int drawnHP = -1;          // 圖層上目前畫的整數 HP（-1 = 還沒畫）
+    private int drawnCandyCount = -1;
+
+    // 數字和標籤的字形圖集（HP 白字、糖果黃字，各自帶自己的標籤），數字寫進 textBuffer 再貼出來
+    private final GlyphAtlas hpGlyphs;
+    private final GlyphAtlas candyGlyphs;
+    private final char[] textBuffer = new char[24];
+
     public HpBar() {
         // 初始化繪圖工具
         redPaint = new Paint();
@@ -48,105 +62,89 @@ public class HpBar {
         candyPaint.setColor(Color.YELLOW);
         candyPaint.setTextSize(40);
         candyPaint.setTextAlign(Paint.Align.LEFT);
-    }
 
-    /**
-     * 更新血量(根據時間扣血)
-     * @param deltaTime 自上次更新經過的時間(秒)
-     */
-    public void update(float deltaTime) {
-        currentHP -= hpDecayPerSecond * deltaTime;
+        hpGlyphs = new GlyphAtlas(whitePaint, "HP: ");
+        candyGlyphs = new GlyphAtlas(candyPaint, "🍬: ");
 
-        // 血量不能低於 0
-        if (currentHP < 0) {
-            currentHP = 0;
-        }
+        layerRect = new RectF(0, 0,
+                (int) (x + barWidth + 30 + LAYER_TEXT_WIDTH),
+                (int) (y + barHeight + 70));
+        createLayer(1f);
     }
 
     /**
-     * 繪製血條
+     * 以指定倍率建立圖層，下一次 draw 一定重畫
      */
-    public void draw(Canvas canvas) {
-        if (canvas == null) return;
-
-        // 計算血條實際寬度(依照 HP 比例)
-        float hpRatio = currentHP / maxHP;
-        float currentBarWidth = barWidth * hpRatio;
-
-        // 背景黑色框
-        canvas.drawRect(x, y, x + barWidth, y + barHeight, blackPaint);
-
-        // 血條顏色根據 HP 變化
-        Paint hpColor = (hpRatio > 0.5f) ? greenPaint : redPaint;
-
-        // 繪製血條(綠→紅漸變)
-        canvas.drawRect(x, y, x + currentBarWidth, y + barHeight, hpColor);
-
-        // 顯示 HP 數字(文字更大)
-        canvas.drawText("HP: " + (int)currentHP + "/" + (int)maxHP,
-                x + barWidth + 30, y + barHeight - 5, whitePaint);
+    private void createLayer(float scale) {
+        if (layer != null) {
+            layer.recycle();
+        }
 
-        // 顯示糖果數
-        canvas.drawText("🍬: " + candyCount,
-                x + barWidth + 30, y + barHeight + 50, candyPaint);
+        layer = Bitmap.createBitmap(
+                Math.max(1, Math.round(layerRect.width() * scale)),
+                Math.max(1, Math.round(layerRect.height() * scale)),
+                Bitmap.Config.ARGB_8888);
+        layerCanvas = new Canvas(layer);
+        layerCanvas.scale(scale, scale);   // 畫圖層時照樣用遊戲座標
+        layerScale = scale;
+        drawnHP = -1;
     }
 
     /**
-     * 吃到糖果，增加糖果計數，累積到 50 顆時回血
-     * @param count 本次增加的糖果數(通常是 1)
+     * 繪製血條：數值有變才重畫圖層，再把圖層貼到畫面
+     * @param renderScale 畫布的解析度倍率（canvas 已經 scale 過，1 = 原始解析度）
      */
-    public void addCandyCount(int count) {
-        candyCount += count;
+    public void draw(Canvas canvas, int currentHP, int maxHP, int candyCount, float renderScale) {
+        if (canvas == null) return;
 
-        // 每 50 顆糖果回復一次血量
-        if (candyCount >= CANDIES_FOR_HEALING) {
-            candyCount -= CANDIES_FOR_HEALING;
-            recoverHP(HP_RECOVER_AMOUNT);
+        // 軟體畫布解析度改變時才重建圖層（硬體畫布縮放很便宜，維持原尺寸）
+        float scale = canvas.isHardwareAccelerated() ? 1f : renderScale;
+        if (scale != layerScale) {
+            createLayer(scale);
         }
-    }
-
-    /**
-     * 恢復血量
-     * @param amount 恢復的血量
-     */
-    private void recoverHP(float amount) {
-        currentHP += amount;
 
-        // 血量不能超過最大值
-        if (currentHP > maxHP) {
-            currentHP = maxHP;
+        if (currentHP != drawnHP || candyCount != drawnCandyCount) {
+            drawLayer(currentHP, maxHP, candyCount);
+            drawnHP = currentHP;
+            drawnCandyCount = candyCount;
         }
-    }
 
-    /**
-     * 檢查是否遊戲結束(血量用盡)
-     */
-    public boolean isGameOver() {
-        return currentHP <= 0;
+        canvas.drawBitmap(layer, null, layerRect, null);
     }
 
     /**
-     * 重置血條和糖果計數
+     * 把血條和文字畫到 HUD 圖層
      */
-    public void reset() {
-        currentHP = maxHP;
-        candyCount = 0;
-    }
+    private void drawLayer(int currentHP, int maxHP, int candyCount) {
+        Canvas canvas = layerCanvas;
+        layer.eraseColor(Color.TRANSPARENT);
 
-    // Getter 方法
-    public float getCurrentHP() {
-        return currentHP;
-    }
+        // 計算血條實際寬度(依照 HP 比例)
+        float hpRatio = currentHP / (float) maxHP;
+        float currentBarWidth = barWidth * hpRatio;
 
-    public void setCurrentHP(float hp) {
-        this.currentHP = hp;
-    }
+        // 背景黑色框
+        canvas.drawRect(x, y, x + barWidth, y + barHeight, blackPaint);
 
-    public void setHpDecayPerSecond(float decay) {
-        this.hpDecayPerSecond = decay;
-    }
+        // 血條顏色根據 HP 變化
+        Paint hpColor = (hpRatio > 0.5f) ? greenPaint : redPaint;
+
+        // 繪製血條(綠→紅漸變)
+        canvas.drawRect(x, y, x + currentBarWidth, y + barHeight, hpColor);
 
-    public int getCandyCount() {
-        return candyCount;
+        // 顯示 HP 數字(文字更大)："HP: " + currentHP + "/" + maxHP
+        float textX = x + barWidth + 30;
+        float hpBaseline = y + barHeight - 5;
+        int length = GlyphAtlas.formatInt(currentHP, textBuffer, 0);
+        textBuffer[length++] = '/';
+        length = GlyphAtlas.formatInt(maxHP, textBuffer, length);
+        float hpX = hpGlyphs.drawLabel(canvas, textX, hpBaseline);
+        hpGlyphs.drawChars(canvas, textBuffer, length, hpX, hpBaseline);
+
+        // 顯示糖果數："🍬: " + candyCount
+        float candyBaseline = y + barHeight + 50;
+        length = GlyphAtlas.formatInt(candyCount, textBuffer, 0);
+        float candyX = candyGlyphs.drawLabel(canvas, textX, candyBaseline);
+        candyGlyphs.drawChars(canvas, textBuffer, length, candyX, candyBaseline);
     }
 }
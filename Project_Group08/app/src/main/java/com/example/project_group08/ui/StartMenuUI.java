@@ -5,6 +5,11 @@ import android.graphics.Paint;
 import android.graphics.Color;
 import android.graphics.RectF;
 
+/**
+ * 開始畫面
+ * 狀態（是否開始、動畫時間、載入進度）只在模擬執行緒上改；
+ * 繪製執行緒用 draw 時只看繪製指令裡的數值，不讀這些狀態
+ */
 public class StartMenuUI {
     private boolean isStarted = false;
 
@@ -19,6 +24,9 @@ public class StartMenuUI {
     private Paint buttonBorderPaint;
     private Paint buttonTextPaint;
     private Paint hintPaint;
+    private Paint disabledButtonPaint;
+    private Paint progressBackgroundPaint;
+    private Paint progressPaint;
 
     // 開始按鈕
     private RectF startButton;
@@ -26,6 +34,21 @@ public class StartMenuUI {
     // 動畫相關
     private float animationTime = 0;
 
+    // 圖片預載進度：載完之前按鈕不能按
+    private float loadingProgress = 0f;
+    private boolean isReady = false;
+    private RectF progressBar;
+
+    // ⭐ 載入中的百分比用 GlyphAtlas 貼字形，不建立字串（char[] 只在繪製執行緒上使用）
+    private GlyphAtlas loadingGlyphs;
+    private final char[] loadingChars = new char[8];
+
+    // ⭐ 有陰影、描邊的固定文字先畫成圖，每一幀只貼圖
+    private CachedText cookieTitle;
+    private CachedText runTitle;
+    private CachedText startText;
+    private CachedText hintText;
+
     public StartMenuUI(int screenWidth, int screenHeight) {
         this.screenWidth = screenWidth;
         this.screenHeight = screenHeight;
@@ -82,6 +105,20 @@ public class StartMenuUI {
         hintPaint.setTextAlign(Paint.Align.CENTER);
         hintPaint.setAlpha(200);
 
+        // 還在載入時的按鈕（灰色）
+        disabledButtonPaint = new Paint();
+        disabledButtonPaint.setColor(Color.rgb(170, 170, 170));
+        disabledButtonPaint.setStyle(Paint.Style.FILL);
+
+        // 載入進度條
+        progressBackgroundPaint = new Paint();
+        progressBackgroundPaint.setColor(Color.argb(120, 0, 0, 0));
+        progressBackgroundPaint.setStyle(Paint.Style.FILL);
+
+        progressPaint = new Paint();
+        progressPaint.setColor(Color.rgb(255, 215, 0));  // 金色
+        progressPaint.setStyle(Paint.Style.FILL);
+
         // 開始按鈕位置（畫面中央偏下）
         float buttonCenterX = screenWidth / 2f;
         float buttonCenterY = screenHeight / 2f + 150;
@@ -94,6 +131,41 @@ public class StartMenuUI {
                 buttonCenterX + buttonWidth / 2,
                 buttonCenterY + buttonHeight / 2
         );
+
+        // 進度條在按鈕下方
+        float progressWidth = 500;
+        float progressTop = startButton.bottom + 60;
+        progressBar = new RectF(
+                buttonCenterX - progressWidth / 2,
+                progressTop,
+                buttonCenterX + progressWidth / 2,
+                progressTop + 24
+        );
+
+        // 標題：先描邊再填色，疊在同一張圖上
+        cookieTitle = new CachedText("Cookie", 32, titleShadowPaint, titlePaint);
+        runTitle = new CachedText("Run", 32, titleShadowPaint, titlePaint);
+        startText = new CachedText("開始遊戲", 8, buttonTextPaint);
+        hintText = new CachedText("點擊按鈕開始", 2, hintPaint);
+        loadingGlyphs = new GlyphAtlas(hintPaint, "載入中... ");
+    }
+
+    /**
+     * 更新圖片預載進度，到 1 之後開始按鈕才能按
+     * @param progress 0 ~ 1
+     */
+    public void setLoadingProgress(float progress) {
+        loadingProgress = Math.min(1f, Math.max(0f, progress));
+        isReady = loadingProgress >= 1f;
+    }
+
+    public float getLoadingProgress() {
+        return loadingProgress;
+    }
+
+    /** 圖片是否都載入完成（按鈕可以按） */
+    public boolean isReady() {
+        return isReady;
     }
 
     /**
@@ -103,50 +175,69 @@ public class StartMenuUI {
         animationTime += deltaTime;
     }
 
+    public float getAnimationTime() {
+        return animationTime;
+    }
+
     /**
-     * 繪製開始畫面
+     * 繪製開始畫面（在繪製執行緒上，數值來自繪製指令）
+     * @param animationTime 按鈕呼吸動畫的時間（秒）
+     * @param loadingProgress 圖片預載進度 0 ~ 1，到 1 才顯示可以按的按鈕
      */
-    public void draw(Canvas canvas) {
-        if (isStarted) return;
+    public void draw(Canvas canvas, float animationTime, float loadingProgress) {
         if (canvas == null) return;
 
+        boolean ready = loadingProgress >= 1f;
+
         // 繪製背景
         canvas.drawRect(0, 0, screenWidth, screenHeight, backgroundPaint);
 
         // 繪製遊戲標題（兩行）
         float titleY = screenHeight / 2f - 200;
 
-        // 先畫描邊
-        canvas.drawText("Cookie", screenWidth / 2f, titleY - 80, titleShadowPaint);
-        canvas.drawText("Run", screenWidth / 2f, titleY + 80, titleShadowPaint);
-
-        // 再畫主體
-        canvas.drawText("Cookie", screenWidth / 2f, titleY - 80, titlePaint);
-        canvas.drawText("Run", screenWidth / 2f, titleY + 80, titlePaint);
+        // 描邊和主體已經疊好在同一張圖上
+        cookieTitle.draw(canvas, screenWidth / 2f, titleY - 80);
+        runTitle.draw(canvas, screenWidth / 2f, titleY + 80);
 
-        // 計算按鈕呼吸動畫（輕微縮放）
-        float breathScale = 1.0f + 0.05f * (float) Math.sin(animationTime * 3);
+        // 計算按鈕呼吸動畫（輕微縮放），載入中不呼吸
+        float breathScale = ready ? 1.0f + 0.05f * (float) Math.sin(animationTime * 3) : 1.0f;
 
         canvas.save();
         canvas.scale(breathScale, breathScale, startButton.centerX(), startButton.centerY());
 
-        // 繪製開始按鈕
-        canvas.drawRoundRect(startButton, 40, 40, buttonPaint);
+        // 繪製開始按鈕（載入中是灰色）
+        canvas.drawRoundRect(startButton, 40, 40, ready ? buttonPaint : disabledButtonPaint);
         canvas.drawRoundRect(startButton, 40, 40, buttonBorderPaint);
 
         // 繪製按鈕文字
-        canvas.drawText("開始遊戲",
+        startText.draw(canvas,
                 startButton.centerX(),
-                startButton.centerY() + 30,
-                buttonTextPaint);
+                startButton.centerY() + 30);
 
         canvas.restore();
 
+        // 載入中：畫進度條
+        if (!ready) {
+            canvas.drawRoundRect(progressBar, 12, 12, progressBackgroundPaint);
+            canvas.drawRect(progressBar.left,
+                    progressBar.top,
+                    progressBar.left + progressBar.width() * loadingProgress,
+                    progressBar.bottom,
+                    progressPaint);
+        }
+
         // 繪製提示文字
-        canvas.drawText("點擊按鈕開始",
-                screenWidth / 2f,
-                screenHeight - 150,
-                hintPaint);
+        if (ready) {
+            hintText.draw(canvas, screenWidth / 2f, screenHeight - 150);
+        } else {
+            // 「載入中... 42%」整串置中
+            int length = GlyphAtlas.formatInt((int) (loadingProgress * 100), loadingChars, 0);
+            loadingChars[length++] = '%';
+            float textWidth = loadingGlyphs.getLabelWidth() + loadingGlyphs.measureChars(loadingChars, length);
+
+            float textX = loadingGlyphs.drawLabel(canvas, (screenWidth - textWidth) / 2f, screenHeight - 150);
+            loadingGlyphs.drawChars(canvas, loadingChars, length, textX, screenHeight - 150);
+        }
     }
 
     /**
@@ -154,7 +245,7 @@ public class StartMenuUI {
      * @return true 如果點擊了開始按鈕
      */
     public boolean onTouchEvent(float touchX, float touchY) {
-        if (isStarted) return false;
+        if (isStarted || !isReady) return false;
 
         if (startButton.contains(touchX, touchY)) {
             isStarted = true;
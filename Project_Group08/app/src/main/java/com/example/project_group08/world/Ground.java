@@ -1,33 +1,43 @@
 package com.example.project_group08.world;
 
-import android.content.Context;
 import android.graphics.Bitmap;
-import android.graphics.BitmapFactory;
 import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.graphics.PorterDuff;
+import android.graphics.PorterDuffXfermode;
 import android.graphics.Rect;
 import android.util.Log;
 import com.example.project_group08.R;
-import com.example.project_group08.world.Gap; // 確保 Gap 類別已被正確引入
-
-import java.util.LinkedList;
-import java.util.Random;
-
+import com.example.project_group08.asset.GameAssets;
+import com.example.project_group08.core.GroundModel;
+
+/**
+ * 地板的繪製：載入並縮放圖片，把繪製指令裡的圖塊畫出來。
+ * 天空是 GameView 後面的靜態 ImageView，這裡不再每一幀重畫。
+ * 圖塊生成和洞的判定在 core 的 GroundModel；畫的時候不讀 model（在繪製執行緒上）。
+ *
+ * 地板不再每塊各自縮放繪製，而是先組合到一張「地板長條圖」：
+ * 長條圖只放得下「畫面內同時看得到的圖塊」（畫面寬 / TILE_WIDTH 無條件進位再加一格），
+ * 高度只有地板那一條；第 k 格對應「圖塊世界 X / TILE_WIDTH」除以格數的餘數（輪流使用），
+ * 只有新出現的圖塊才畫進去，每一幀只要依鏡頭位置原尺寸貼一次（繞回時貼兩次）。
+ * 畫面外的圖塊不放進長條圖，才不會把畫面內的格子蓋掉。
+ * 放大的地板比洞高，洞上方那一段要透明讓天空透出來，所以還是用 ARGB_8888。
+ * 硬體加速畫布貼圖很便宜，反而是更新長條圖要整張重新上傳 GPU，
+ * 所以硬體畫布直接逐塊貼已縮放好的圖塊，長條圖只在軟體畫布第一次繪製時才建立。
+ *
+ * 動態解析度降低時（畫布被 scale 縮小），長條圖也用同樣的倍率重建，
+ * 貼到畫面時一個像素對一個像素，不用每一幀縮放。座標一律用遊戲座標。
+ */
 public class Ground {
 
-    // === 調整後的參數 ===
-    private static final int TILE_WIDTH = 1024;    // 單一地板圖片寬
-    private static final int SCROLL_SPEED = 10;
-    private static final int GAP_PERCENT_CHANCE = 70; // 設為 70% 機率生成有洞圖塊
+    private static final int TILE_WIDTH = GroundModel.TILE_WIDTH;    // 單一地板圖片寬
 
     // 🚀 新增：一般地板的額外縮放因子
     private static final float FLOOR_SCALE_FACTOR = 1.2f;
 
-    public static int GROUND_TOP_POSITION;      // 地板開始 Y
-    public static int GROUND_COLLISION_Y;       // 薑餅人腳底 Y（用於落地判斷）
-
     private Bitmap floorBitmap;
     private Bitmap gapBitmap;
-    private Bitmap skyBitmap;
 
     // 新增：紀錄縮放後的 floorBitmap 高度
     private int scaledFloorHeight;
@@ -35,202 +45,214 @@ public class Ground {
     private final int screenWidth;
     private final int screenHeight;
 
-    private final LinkedList<GroundTile> tiles = new LinkedList<>();
-    private final Random random = new Random();
-
+    private final Rect srcRect = new Rect();
     private final Rect destRect = new Rect();
 
-    private class GroundTile {
-        Bitmap bitmap;
-        int x;
-        GroundTile(Bitmap bm, int startX) {
-            bitmap = bm;
-            x = startX;
-        }
-    }
-
-    public Ground(Context context, int screenW, int screenH) {
+    // ⭐ 地板長條圖：寬度 = 畫面內最多同時出現的圖塊數 × TILE_WIDTH
+    private Bitmap stripBitmap;
+    private Canvas stripCanvas;
+    private final int stripWidth;
+    private int stripHeight;
+    private int stripTop;                 // 長條圖在螢幕上的 Y（放大的地板比洞高，頂端要往上）
+    private final int[] composedTileX;    // 每一格目前畫的是哪一塊（世界 X）
+    private final int[] composedTileType; // 每一格目前畫的圖塊種類
+    private final Paint clearPaint = new Paint();
+    private final Paint composePaint = new Paint(Paint.FILTER_BITMAP_FLAG);
+    private float stripScale = 1f;        // 長條圖目前的解析度倍率
+
+    // 這一幀累積中的一段連續圖塊（長條圖上相鄰、螢幕上也相鄰）
+    private boolean hardwareCanvas;
+    private int runStartSlot;
+    private int runCount;
+    private int runScreenX;
+
+    public Ground(GameAssets assets, int screenW, int screenH, GroundModel model) {
         screenWidth = screenW;
         screenHeight = screenH;
 
-        // ⭐ 讓地板高度占畫面 40% (作為基礎高度)
-        int groundHeight = (int)(screenH * 0.4f);
-
-        // ⭐ 地板開始位置：從螢幕底部往上 groundHeight
-        GROUND_TOP_POSITION = screenH - groundHeight;
-
-        // ⭐ 薑餅人腳底碰撞高度（草皮上緣，適度往下）
-        GROUND_COLLISION_Y = GROUND_TOP_POSITION + 180; // 保持相對位置
+        // ⭐ 地板高度由 GroundModel 決定（畫面 40%）
+        int groundHeight = model.getGroundHeight();
 
-        // === 載入圖片 (已修正為 R.drawable 載入) ===
-        Bitmap rawFloor = BitmapFactory.decodeResource(context.getResources(), R.drawable.floor);
-        Bitmap rawGap   = BitmapFactory.decodeResource(context.getResources(), R.drawable.floor_w_hole);
-        Bitmap rawSky   = BitmapFactory.decodeResource(context.getResources(), R.drawable.sky);
-
-        // ⭐ 天空鋪滿整個畫布
-        if (rawSky != null) {
-            skyBitmap = Bitmap.createScaledBitmap(rawSky, screenW, screenH, true);
-        } else {
-            Log.e("Ground", "Sky bitmap failed to load. (sky.jpg)");
-        }
+        // === 載入圖片：由 GameAssets 解碼並縮放，同樣大小只做一次（重新開始直接用快取） ===
 
         // ⭐ 地板依照固定高度縮放
-        if (rawFloor != null) {
-            // 🚀 關鍵修正 1: 計算額外放大後的 floorBitmap 高度
-            scaledFloorHeight = (int)(groundHeight * FLOOR_SCALE_FACTOR);
+        // 🚀 關鍵修正 1: 計算額外放大後的 floorBitmap 高度
+        scaledFloorHeight = (int)(groundHeight * FLOOR_SCALE_FACTOR);
 
-            // 關鍵：floorBitmap 使用 scaledFloorHeight 進行縮放
-            floorBitmap = Bitmap.createScaledBitmap(rawFloor, TILE_WIDTH, scaledFloorHeight, true);
-        } else {
+        // 關鍵：floorBitmap 使用 scaledFloorHeight 進行縮放
+        floorBitmap = assets.getScaledBitmap(R.drawable.floor, TILE_WIDTH, scaledFloorHeight);
+        if (floorBitmap == null) {
             Log.e("Ground", "Floor bitmap failed to load. (floor.jpg)");
         }
 
-        if (rawGap != null) {
-            // 關鍵：gapBitmap 使用基礎 groundHeight (未放大)
-            gapBitmap   = Bitmap.createScaledBitmap(rawGap,   TILE_WIDTH, groundHeight, true);
-        } else {
+        // 關鍵：gapBitmap 使用基礎 groundHeight (未放大)
+        gapBitmap = assets.getScaledBitmap(R.drawable.floor_w_hole, TILE_WIDTH, groundHeight);
+        if (gapBitmap == null) {
             Log.e("Ground", "Gap bitmap failed to load. (floor_w_hole.jpg)");
         }
 
+        // === 建立地板長條圖 ===
+        // 寬 W 的畫面最多同時蓋到 ceil(W / TILE_WIDTH) + 1 塊（沒對齊時兩邊各露一部分）
+        int slots = (screenW + TILE_WIDTH - 1) / TILE_WIDTH + 1;
+        composedTileX = new int[slots];
+        composedTileType = new int[slots];
+        for (int k = 0; k < slots; k++) {
+            composedTileType[k] = GroundModel.TILE_NONE;   // 還沒畫任何圖塊
+        }
 
-        // === 初始化地板 tiles ===
-        int x = 0;
+        // 🚀 關鍵修正 2: 放大的 floorBitmap 比 Gap 高，長條圖以較高的為準，底部和 Gap 對齊
+        int gapHeight = gapBitmap != null ? gapBitmap.getHeight() : groundHeight;
+        stripHeight = Math.max(scaledFloorHeight, gapHeight);
+        stripTop = model.getGroundTopPosition() - (stripHeight - gapHeight);
 
-        // 🚨 修正：確保第一個圖塊 (x=0) 永遠是普通地板 (FLOOR_TILE)
-        tiles.add(new GroundTile(floorBitmap, x));
-        x += TILE_WIDTH;
+        stripWidth = slots * TILE_WIDTH;
 
-        // 確保後續圖塊填充直到填滿畫面
-        while (x < screenW + TILE_WIDTH) {
+        // 換圖塊時先把那一格清成透明（後面的天空才透得過洞）
+        clearPaint.setColor(Color.TRANSPARENT);
+        clearPaint.setXfermode(new PorterDuffXfermode(PorterDuff.Mode.CLEAR));
+    }
 
-            // 💡 填充後續圖塊時，也應該使用 floorBitmap
-            tiles.add(new GroundTile(floorBitmap, x));
-            x += TILE_WIDTH;
-        }
+    /**
+     * 在背景先解碼、縮放地板（和建構子用的大小一樣），開始畫面時呼叫
+     * 之後 new Ground 時就直接拿到快取，不會卡住
+     */
+    public static void preload(GameAssets assets, int screenW, int screenH) {
+        int groundHeight = GroundModel.groundHeightFor(screenH);
+        assets.preloadScaledBitmap(R.drawable.floor, TILE_WIDTH, (int) (groundHeight * FLOOR_SCALE_FACTOR));
+        assets.preloadScaledBitmap(R.drawable.floor_w_hole, TILE_WIDTH, groundHeight);
     }
 
-    public void update() {
-        if (tiles.isEmpty()) return;
+    /**
+     * 一幀開始畫地板（之後依序 drawTile，最後 endTiles）
+     * @param renderScale 畫布的解析度倍率（canvas 已經 scale 過，1 = 原始解析度）
+     */
+    public void beginTiles(Canvas canvas, float renderScale) {
+        hardwareCanvas = canvas.isHardwareAccelerated();
+        runCount = 0;
 
-        // 移動
-        for (GroundTile tile : tiles) {
-            tile.x -= SCROLL_SPEED;
+        // 軟體畫布：第一次用到、或解析度改變時才建立長條圖
+        if (!hardwareCanvas && (stripBitmap == null || stripScale != renderScale)) {
+            createStrip(renderScale);
         }
+    }
 
-        // 左邊移出畫面就刪除
-        while (!tiles.isEmpty() && tiles.getFirst().x + TILE_WIDTH < 0) {
-            tiles.removeFirst();
+    /**
+     * 以指定倍率建立長條圖，所有格子都要重新組合
+     */
+    private void createStrip(float scale) {
+        if (stripBitmap != null) {
+            stripBitmap.recycle();
         }
 
-        // 右邊補 tiles
-        // 🚀 修正：應檢查最後一個圖塊是否滾入畫面即可生成下一個。
-        while (!tiles.isEmpty() && tiles.getLast().x + TILE_WIDTH < screenWidth) {
-            generateNextTile();
+        stripBitmap = Bitmap.createBitmap(
+                Math.max(1, Math.round(stripWidth * scale)),
+                Math.max(1, Math.round(stripHeight * scale)),
+                Bitmap.Config.ARGB_8888);
+        stripCanvas = new Canvas(stripBitmap);
+        stripCanvas.scale(scale, scale);   // 組合時照樣用遊戲座標
+        stripScale = scale;
+
+        for (int k = 0; k < composedTileType.length; k++) {
+            composedTileType[k] = GroundModel.TILE_NONE;
         }
     }
 
-    public void draw(Canvas canvas) {
-        if (canvas == null) return;
-
-        // 1️⃣ 先畫天空（鋪滿整個畫面）
-        if (skyBitmap != null) {
-            canvas.drawBitmap(skyBitmap, null, new Rect(0, 0, screenWidth, screenHeight), null);
-        }
+    /**
+     * 畫一塊圖塊（由左到右依序呼叫）
+     * @param worldX 圖塊左邊緣的世界 X
+     * @param screenX 圖塊左邊緣的螢幕 X
+     */
+    public void drawTile(Canvas canvas, int tileType, int worldX, int screenX) {
+        if (floorBitmap == null && gapBitmap == null) return;
 
-        // 2️⃣ 再畫地板（從 GROUND_TOP_POSITION 開始）
-        int gapHeight = gapBitmap != null ? gapBitmap.getHeight() : 0; // 取得未放大 Gap 的高度
-
-        for (GroundTile tile : tiles) {
-            // 確保 bitmap 存在
-            if (tile.bitmap != null) {
-
-                int currentTileHeight = tile.bitmap.getHeight();
-                int currentGroundTop = GROUND_TOP_POSITION;
-
-                // 🚀 關鍵修正 2: 如果是放大的 floorBitmap，調整其 Y 座標，使其底部與 Gap 對齊
-                if (tile.bitmap == floorBitmap) {
-                    // floorBitmap 的實際高度 (scaledFloorHeight) 比 Gap (groundHeight) 高
-                    // 繪製的起點需要向上偏移 (scaledFloorHeight - gapHeight) 這麼多
-                    int heightDifference = scaledFloorHeight - gapHeight;
-                    currentGroundTop = GROUND_TOP_POSITION - heightDifference;
-                }
-
-                destRect.set(
-                        tile.x,
-                        currentGroundTop, // 使用調整後的 Y 座標
-                        tile.x + TILE_WIDTH,
-                        // 這裡使用 tile.bitmap.getHeight() 確保高度與縮放後一致
-                        currentGroundTop + currentTileHeight
-                );
-                canvas.drawBitmap(tile.bitmap, null, destRect, null);
-            }
+        // 硬體畫布：逐塊原尺寸貼圖
+        if (hardwareCanvas) {
+            drawTileDirect(canvas, tileType, screenX);
+            return;
         }
-    }
 
-    private void generateNextTile() {
-        int nextX = tiles.getLast().x + TILE_WIDTH;
+        // 畫面外的圖塊不佔長條圖的格子
+        if (screenX >= screenWidth || screenX + TILE_WIDTH <= 0) return;
 
-        Bitmap bm = (random.nextInt(100) < GAP_PERCENT_CHANCE)
-                ? gapBitmap
-                : floorBitmap;
+        // 軟體畫布：新出現的圖塊才畫進長條圖，連續的圖塊累積起來一起貼
+        int slots = composedTileX.length;
+        int slot = Math.floorMod(Math.floorDiv(worldX, TILE_WIDTH), slots);
+        composeTile(slot, tileType, worldX);
 
-        // 確保要生成的 bitmap 存在
-        if (bm != null) {
-            tiles.add(new GroundTile(bm, nextX));
+        if (runCount > 0
+                && slot == runStartSlot + runCount
+                && screenX == runScreenX + runCount * TILE_WIDTH) {
+            runCount++;
+            return;
         }
+
+        // 接不上（長條圖繞回開頭）→ 先貼掉前一段
+        flushRun(canvas);
+        runStartSlot = slot;
+        runScreenX = screenX;
+        runCount = 1;
     }
 
     /**
-     * 🚀 新增方法：檢查指定的 X 座標是否落在 Gap 區域內 (供 Candy Manager 查詢)
-     * @param x 螢幕上的 X 座標
-     * @return 如果 X 座標位於 Gap 的精準像素範圍內，返回 true
+     * 一幀的地板畫完，把還沒貼的那一段貼出去
      */
-    public boolean isXCoordinateGap(int x) {
-        // 2. 檢查 X 軸：遍歷所有在畫面上的圖塊
-        for (GroundTile tile : tiles) {
-            // a. 檢查 X 座標是否落在這個圖塊的水平範圍內
-            if (x >= tile.x && x < tile.x + TILE_WIDTH) {
-
-                // b. 將精準判定委託給 Gap.java 處理
-                return Gap.checkFalling(
-                        x, // 檢查點的 X 座標
-                        tile.bitmap,
-                        tile.x,
-                        gapBitmap,
-                        TILE_WIDTH
-                );
-            }
+    public void endTiles(Canvas canvas) {
+        if (!hardwareCanvas) {
+            flushRun(canvas);
         }
-        // 如果 X 座標在任何圖塊之外
-        return false;
     }
 
+    private void flushRun(Canvas canvas) {
+        if (runCount == 0) return;
+        blitRun(canvas, runStartSlot, runCount, runScreenX);
+        runCount = 0;
+    }
+
+    /**
+     * 圖塊直接貼到畫面（已縮放成顯示大小，不再縮放），底部對齊長條圖底部
+     */
+    private void drawTileDirect(Canvas canvas, int tileType, int drawX) {
+        Bitmap bitmap = (tileType == GroundModel.TILE_GAP) ? gapBitmap : floorBitmap;
+        if (bitmap == null) return;
+        if (drawX >= screenWidth || drawX + TILE_WIDTH <= 0) return;
+
+        int stripBottom = stripTop + stripHeight;
+        canvas.drawBitmap(bitmap, drawX, stripBottom - bitmap.getHeight(), null);
+    }
 
     /**
-     * 檢查角色是否掉落的接口 (給組員 A 使用)
-     * @param playerX 角色在螢幕上的 X 座標
-     * @param playerY 角色在螢幕上的 Y 座標
-     * @return 如果角色掉落，返回 true
+     * 長條圖上這一格畫的不是這塊圖塊（新生成或重新開始）才重畫
      */
-    public boolean isPlayerFalling(int playerX, int playerY) {
-        // 1. 檢查 Y 軸：是否到達或超過碰撞點
-        if (playerY < GROUND_COLLISION_Y) return false;
-
-        // 2. 檢查 X 軸：遍歷所有在畫面上的圖塊
-        for (GroundTile tile : tiles) {
-            // a. 檢查 PlayerX 是否落在這個圖塊的水平範圍內
-            if (playerX >= tile.x && playerX < tile.x + TILE_WIDTH) {
-
-                // b. 將精準判定委託給 Gap.java 處理
-                return Gap.checkFalling(
-                        playerX,
-                        tile.bitmap,
-                        tile.x,
-                        gapBitmap,
-                        TILE_WIDTH
-                );
-            }
+    private void composeTile(int slot, int tileType, int tileX) {
+        if (composedTileType[slot] == tileType && composedTileX[slot] == tileX) return;
+
+        int left = slot * TILE_WIDTH;
+        stripCanvas.drawRect(left, 0, left + TILE_WIDTH, stripHeight, clearPaint);
+
+        Bitmap bitmap = (tileType == GroundModel.TILE_GAP) ? gapBitmap : floorBitmap;
+        if (bitmap != null) {
+            // 底部對齊長條圖底部（floor 比 gap 高，頂端自然比較高）
+            stripCanvas.drawBitmap(bitmap, left, stripHeight - bitmap.getHeight(), composePaint);
         }
-        return false;
+
+        composedTileX[slot] = tileX;
+        composedTileType[slot] = tileType;
+    }
+
+    /**
+     * 把長條圖上連續的 count 格，原尺寸貼到螢幕 X = screenX，只貼畫面內的部分
+     */
+    private void blitRun(Canvas canvas, int startSlot, int count, int screenX) {
+        int left = Math.max(screenX, 0);
+        int right = Math.min(screenX + count * TILE_WIDTH, screenWidth);
+        if (left >= right) return;
+
+        // 來源範圍換成長條圖的實際像素（解析度降低時長條圖比較小）
+        int srcLeft = startSlot * TILE_WIDTH + (left - screenX);
+        srcRect.set(
+                Math.round(srcLeft * stripScale), 0,
+                Math.round((srcLeft + (right - left)) * stripScale), stripBitmap.getHeight());
+        destRect.set(left, stripTop, right, stripTop + stripHeight);
+        canvas.drawBitmap(stripBitmap, srcRect, destRect, null);
     }
 }
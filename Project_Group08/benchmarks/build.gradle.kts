@@ -0,0 +1,30 @@
+plugins {
+    java
+    alias(libs.plugins.jmh)
+}
+
+// 每一幀熱路徑的 JMH 效能量測（糖果、地板、洞、角色），直接跑 :core 的邏輯
+// 執行：./gradlew :benchmarks:jmh
+// 結果（ns/op 與 gc 配置量）存在 build/results/jmh/results.json，改動遊戲迴圈前後各跑一次比較
+java {
+    sourceCompatibility = JavaVersion.VERSION_11
+    targetCompatibility = JavaVersion.VERSION_11
+}
+
+// 原始碼有中文註解，不依賴系統語系一律用 UTF-8 編譯
+tasks.withType<JavaCompile> {
+    options.encoding = "UTF-8"
+}
+
+dependencies {
+    jmhImplementation(project(":core"))
+}
+
+jmh {
+    jmhVersion.set(libs.versions.jmh)
+    profilers.add("gc")
+    resultFormat.set("JSON")
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+}
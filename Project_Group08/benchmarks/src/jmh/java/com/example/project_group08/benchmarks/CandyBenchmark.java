@@ -0,0 +1,155 @@
+package com.example.project_group08.benchmarks;
+
+import com.example.project_group08.core.Camera;
+import com.example.project_group08.core.CandyModel;
+import com.example.project_group08.core.GameWorld;
+import com.example.project_group08.core.GroundModel;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 糖果每一步的成本：
+ * - update：鏡頭前進一步後移除 / 生成糖果（包含地板 update，扣掉 GroundBenchmark.update 就是糖果本身）
+ * - collect：角色框和糖果的碰撞判斷
+ * - queryRect：同樣範圍的唯讀查詢
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CandyBenchmark {
+
+    static final int SCREEN_HEIGHT = 1080;
+
+    // 一步 (1/60 秒) 鏡頭前進的距離
+    static final float STEP_DISTANCE = GameWorld.BASE_RUN_SPEED / 60f;
+
+    // 鏡頭走太遠時就地重設，避免 float / int 世界座標失去精度（約十萬步一次）
+    static final float REBUILD_X = 1_000_000f;
+
+    @State(Scope.Thread)
+    public static class UpdateState {
+
+        /** 每隔多少像素嘗試生成一組糖果（越小越密集） */
+        @Param({"125", "250", "500"})
+        public int spawnDistance;
+
+        @Param({"2400"})
+        public int screenWidth;
+
+        Camera camera;
+        GroundModel ground;
+        CandyModel candy;
+
+        @Setup(Level.Iteration)
+        public void setUp() {
+            build();
+        }
+
+        void build() {
+            Random random = new Random(42);
+            camera = new Camera();
+            ground = new GroundModel(screenWidth, SCREEN_HEIGHT, camera, random);
+            candy = new CandyModel(screenWidth, ground.getGroundCollisionY(), camera, random);
+            candy.setSpawnDistance(spawnDistance);
+            warmUp();
+        }
+
+        void reset() {
+            camera.reset();
+            ground.reset();
+            candy.reset();
+            warmUp();
+        }
+
+        // 先跑 10 秒，讓緩衝區裡的糖果數量穩定下來
+        private void warmUp() {
+            for (int i = 0; i < 600; i++) {
+                step();
+            }
+        }
+
+        void step() {
+            camera.advance(STEP_DISTANCE);
+            ground.update();
+            candy.update(ground);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class CollectState {
+
+        /** 緩衝區裡的糖果數 */
+        @Param({"8", "32", "128"})
+        public int candyCount;
+
+        @Param({"2400"})
+        public int screenWidth;
+
+        CandyModel candy;
+        int candyTop;
+
+        // 角色框左邊緣依序掃過整個畫面，避免每次都查同一個位置
+        final int[] playerLefts = new int[64];
+        int index = 0;
+
+        final int[] outSlots = new int[CandyModel.MAX_CANDIES];
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            Random random = new Random(42);
+            int groundCollisionY = SCREEN_HEIGHT - (int) (SCREEN_HEIGHT * 0.4f) + 180;
+            candy = new CandyModel(screenWidth, groundCollisionY, new Camera(), random);
+            candyTop = groundCollisionY - 100;
+
+            // 其餘的糖果平均排滿畫面
+            int spacing = Math.max(1, screenWidth / candyCount);
+            for (int i = 0; candy.getCandyCount() < candyCount; i++) {
+                if (!candy.spawn(i * spacing, candyTop)) break;
+            }
+
+            for (int i = 0; i < playerLefts.length; i++) {
+                playerLefts[i] = random.nextInt(screenWidth);
+            }
+        }
+
+        int nextLeft() {
+            return playerLefts[index++ & (playerLefts.length - 1)];
+        }
+    }
+
+    @Benchmark
+    public int update(UpdateState state) {
+        if (state.camera.getX() > REBUILD_X) {
+            state.reset();
+        }
+        state.step();
+        return state.candy.getCandyCount();
+    }
+
+    /**
+     * 第一輪掃過之後糖果都已被收集，之後量到的是「這一步沒吃到新糖果」的情況，也是遊戲中最常見的一步
+     */
+    @Benchmark
+    public int collect(CollectState state) {
+        int left = state.nextLeft();
+        int top = state.candyTop - 20;
+        return state.candy.collect(left, top, left + 140, top + 60, null);
+    }
+
+    @Benchmark
+    public int queryRect(CollectState state) {
+        int left = state.nextLeft();
+        int top = state.candyTop - 20;
+        return state.candy.queryRect(left, top, left + 140, top + 60, state.outSlots);
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.project_group08.benchmarks;
+
+import com.example.project_group08.core.Gap;
+import com.example.project_group08.core.GroundModel;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 洞的精準判定 Gap.checkFalling
+ * 輸入事先亂數產生，gapPercent 控制有洞圖塊的比例（影響分支預測）
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class GapBenchmark {
+
+    private static final int INPUT_COUNT = 1024;
+
+    /** 有洞圖塊所占的百分比 */
+    @Param({"0", "70", "100"})
+    public int gapPercent;
+
+    private final int[] playerXs = new int[INPUT_COUNT];
+    private final int[] tileTypes = new int[INPUT_COUNT];
+    private final int[] tileXs = new int[INPUT_COUNT];
+    private int index = 0;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        for (int i = 0; i < INPUT_COUNT; i++) {
+            tileXs[i] = i * GroundModel.TILE_WIDTH;
+            playerXs[i] = tileXs[i] + random.nextInt(GroundModel.TILE_WIDTH);
+            tileTypes[i] = (random.nextInt(100) < gapPercent)
+                    ? GroundModel.TILE_GAP
+                    : GroundModel.TILE_FLOOR;
+        }
+    }
+
+    @Benchmark
+    public boolean checkFalling() {
+        int i = index++ & (INPUT_COUNT - 1);
+        return Gap.checkFalling(playerXs[i], tileTypes[i], tileXs[i]);
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.project_group08.benchmarks;
+
+import com.example.project_group08.core.Camera;
+import com.example.project_group08.core.GroundModel;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 地板每一步的成本：捲動時更新圖塊、角色掉洞判斷
+ * 圖塊數量由畫面寬度決定（tileCount × TILE_WIDTH）
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class GroundBenchmark {
+
+    /** 畫面上能放幾塊圖塊 */
+    @Param({"2", "8", "32"})
+    public int tileCount;
+
+    private Camera camera;
+    private GroundModel ground;
+    private int screenWidth;
+
+    // 掉洞判斷時角色的螢幕 X，依序掃過整個畫面
+    private final int[] playerXs = new int[256];
+    private int index = 0;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        screenWidth = tileCount * GroundModel.TILE_WIDTH;
+        build();
+
+        Random random = new Random(7);
+        for (int i = 0; i < playerXs.length; i++) {
+            playerXs[i] = random.nextInt(screenWidth);
+        }
+    }
+
+    private void build() {
+        camera = new Camera();
+        ground = new GroundModel(screenWidth, CandyBenchmark.SCREEN_HEIGHT, camera, new Random(42));
+
+        // 先捲一段，讓畫面上出現有洞的圖塊
+        for (int i = 0; i < 600; i++) {
+            camera.advance(CandyBenchmark.STEP_DISTANCE);
+            ground.update();
+        }
+    }
+
+    @Benchmark
+    public int update() {
+        if (camera.getX() > CandyBenchmark.REBUILD_X) {
+            camera.reset();
+            ground.reset();
+        }
+        camera.advance(CandyBenchmark.STEP_DISTANCE);
+        ground.update();
+        return ground.getTileCount();
+    }
+
+    @Benchmark
+    public boolean isPlayerFalling() {
+        int playerX = playerXs[index++ & (playerXs.length - 1)];
+        return ground.isPlayerFalling(playerX, ground.getGroundCollisionY());
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.project_group08.benchmarks;
+
+import com.example.project_group08.core.PlayerModel;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 角色物理每一步的成本：落地就再跳，讓重力、落地判斷都會走到
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class PlayerBenchmark {
+
+    private static final float STEP_SECONDS = 1f / 60;
+
+    private PlayerModel player;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        player = new PlayerModel(2400, 828);
+        player.setSize(140, 10);
+    }
+
+    @Benchmark
+    public float update() {
+        if (!player.isJumping()) {
+            player.jump();
+        }
+        player.update(STEP_SECONDS);
+        return player.getY();
+    }
+}
@@ -0,0 +1,19 @@
+plugins {
+    `java-library`
+}
+
+// 純 Java 的遊戲邏輯（物理、地板、洞、糖果、血量），不依賴 Android，
+// 可以直接在電腦上用 JUnit 跑測試或大量模擬
+java {
+    sourceCompatibility = JavaVersion.VERSION_11
+    targetCompatibility = JavaVersion.VERSION_11
+}
+
+// 原始碼有中文註解，不依賴系統語系一律用 UTF-8 編譯
+tasks.withType<JavaCompile> {
+    options.encoding = "UTF-8"
+}
+
+dependencies {
+    testImplementation(libs.junit)
+}
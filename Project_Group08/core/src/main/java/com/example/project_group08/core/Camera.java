@@ -0,0 +1,53 @@
+package com.example.project_group08.core;
+
+/**
+ * 世界鏡頭：記錄畫面左邊緣位在世界座標的哪裡。
+ * 地板和糖果都用世界座標儲存，捲動時只移動鏡頭，
+ * 只有在繪製或碰撞判斷時才換算成螢幕座標。
+ */
+public class Camera {
+
+    private float x = 0;          // 這一步的鏡頭位置（世界座標）
+    private float previousX = 0;  // 上一步的鏡頭位置（插值用）
+
+    /**
+     * 鏡頭往右移動（畫面上的東西看起來往左捲）
+     * @param distance 移動的距離（像素）
+     */
+    public void advance(float distance) {
+        previousX = x;
+        x += distance;
+    }
+
+    /**
+     * 取得插值後的鏡頭位置
+     * @param interpolation 上一步(0)到這一步(1)之間的插值比例
+     */
+    public float getRenderX(float interpolation) {
+        return previousX + (x - previousX) * interpolation;
+    }
+
+    /** 螢幕 X → 世界 X */
+    public int toWorldX(float screenX) {
+        return (int) (screenX + x);
+    }
+
+    /** 世界 X → 螢幕 X */
+    public int toScreenX(int worldX) {
+        return worldX - (int) x;
+    }
+
+    public float getX() {
+        return x;
+    }
+
+    public float getPreviousX() {
+        return previousX;
+    }
+
+    /** 重新開始時回到原點 */
+    public void reset() {
+        x = 0;
+        previousX = 0;
+    }
+}
@@ -0,0 +1,375 @@
+package com.example.project_group08.core;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * 糖果的邏輯部分：生成、移除、碰撞與範圍查詢。
+ * 不含任何圖片，畫面由 app 的 Candy 負責。
+ */
+public class CandyModel {
+
+    // --- 遊戲常數 ---
+    public static final int CANDY_SIZE = 50;       // 糖果顯示大小 (像素)
+
+    // 糖果生成的位置範圍
+    private static final int CANDY_Y_BASE_OFFSET = 100;   // 糖果在 地板碰撞點上方 100 像素處
+    private static final int ARCH_PEAK_OFFSET = 150;      // 拱形最高點距離地板碰撞點上方 150 像素處
+    private static final int ARCH_WIDTH = 400;            // 拱形的水平寬度 (像素)
+
+    // 生成機率（可以自己微調）
+    public static final int DEFAULT_SPAWN_DISTANCE = 500; // ⭐ 每隔 500 像素生成一組糖果（變比較稀疏）
+    private static final int PATTERN_CHANCE = 75;         // 75% 的機率生成糖果模式 (25% 機率不生成)
+    private static final int ARCH_CHANCE_FLAT_GROUND = 20; // 平地時 20% 機率生成拱形
+    private static final int ARCH_CHANCE_GAP_ZONE = 80;    // 洞洞區 80% 機率生成拱形
+
+    // ⭐ 同時存在的糖果上限（2 的次方，環形索引可以用 & 運算）
+    public static final int MAX_CANDIES = 128;
+    private static final int INDEX_MASK = MAX_CANDIES - 1;
+
+    /**
+     * 吃到糖果時的通知（可選），回傳被吃到那顆的位置
+     * 建議存成欄位重複使用，不要每一步 new 一個
+     */
+    public interface OnCandyCollectedListener {
+        void onCandyCollected(int worldX, int y);
+    }
+
+    // --- 狀態 ---
+    // ⭐ 糖果用「陣列結構」儲存：一開始就配置好，之後生成/移除都不再 new 物件
+    //    依世界 X 由左到右排序放在環形緩衝區，第 i 顆在 (head + i) & INDEX_MASK
+    //    排好序之後，碰撞和範圍查詢都能用二分搜尋只看角色附近的幾顆
+    private final int[] candyX = new int[MAX_CANDIES];     // 世界座標
+    private final int[] candyY = new int[MAX_CANDIES];
+    private final long[] collectedBits = new long[MAX_CANDIES / 64];  // 是否被收集（位元集合）
+    private int head = 0;
+    private int candyCount = 0;
+
+    private final Random random;
+    private final int screenWidth;
+    private final int groundCollisionY;
+
+    // ⭐ 世界鏡頭：糖果存世界座標，捲動時不用逐顆修改
+    private final Camera camera;
+
+    // ⭐ 改成用「距離」來決定何時生成下一批糖果：記錄上次生成時鏡頭的位置
+    private float lastSpawnCameraX = 0;
+    private int spawnDistance = DEFAULT_SPAWN_DISTANCE;
+
+    /**
+     * @param groundCollisionY 地板碰撞高度（GroundModel.getGroundCollisionY()），糖果以它為基準擺放
+     */
+    public CandyModel(int screenW, int groundCollisionY, Camera camera, Random random) {
+        this.screenWidth = screenW;
+        this.groundCollisionY = groundCollisionY;
+        this.camera = camera;
+        this.random = random;
+
+        reset();
+    }
+
+    /**
+     * 清空所有糖果並重新生成開場的那一排，沿用同一組陣列，不配置新物件
+     * 重新開始時先 camera.reset() 再呼叫（生成密度設定會保留）
+     */
+    public void reset() {
+        head = 0;
+        candyCount = 0;
+        Arrays.fill(collectedBits, 0L);
+
+        // ⭐ 一開始就先在畫面中間附近生成一小排糖果，讓玩家一開始就看得到
+        generateInitialCandy();
+    }
+
+    /**
+     * 專門用於初始化，確保遊戲開始時畫面上就有糖果
+     */
+    private void generateInitialCandy() {
+        int spawnX = camera.toWorldX(screenWidth / 2f);  // 在畫面中間右邊一點
+        int startY = groundCollisionY - CANDY_Y_BASE_OFFSET;
+        spawnStraight(spawnX, startY);
+        lastSpawnCameraX = camera.getX();                // 重置距離累積
+    }
+
+    /**
+     * 處理滾出畫面的糖果與生成邏輯（糖果本身不動，動的是鏡頭）
+     *
+     * @param ground GroundModel 實例
+     */
+    public void update(GroundModel ground) {
+        // 1. 移除滾出螢幕左側的糖果（以上一步的鏡頭判斷，多留一步的距離給插值繪製）
+        //    糖果依生成順序由左到右排列，只需要檢查最前面幾顆
+        //    最前面已經被收集的糖果也一併移除，讓緩衝區往前收縮
+        float visibleLeft = camera.getPreviousX();
+        while (candyCount > 0
+                && (candyX[head] + CANDY_SIZE < visibleLeft || isCollected(head))) {
+            setCollectedBit(head, false);
+            head = (head + 1) & INDEX_MASK;
+            candyCount--;
+        }
+
+        // 2. 鏡頭從上次生成後移動的距離
+        // 每累積超過 spawnDistance，就嘗試生成一組新的糖果
+        if (camera.getX() - lastSpawnCameraX >= spawnDistance) {
+
+            // 在螢幕右邊外面一點生成（慢慢滑進畫面）
+            int spawnX = camera.toWorldX(screenWidth + 50);
+
+            // 查詢 GroundModel：這個 X 大致上是不是洞洞區
+            boolean isGapZone = (ground != null) && ground.isXCoordinateGap(spawnX);
+
+            // 只有在 PATTERN_CHANCE 範圍內才真的生成糖果
+            if (random.nextInt(100) < PATTERN_CHANCE) {
+
+                int startY = groundCollisionY - CANDY_Y_BASE_OFFSET;
+
+                if (isGapZone) {
+                    // --- 洞口區 (Gap) 生成邏輯 ---
+                    if (random.nextInt(100) < ARCH_CHANCE_GAP_ZONE) {
+                        // 在洞洞上方生成拱形糖果
+                        spawnArch(spawnX, groundCollisionY - ARCH_PEAK_OFFSET, ARCH_WIDTH);
+                    } else {
+                        // 不生成（保留一些空白區）
+                    }
+
+                } else {
+                    // --- 平地區 (Floor) 生成邏輯 ---
+                    if (random.nextInt(100) < ARCH_CHANCE_FLAT_GROUND) {
+                        // 偶爾在平地也來一個拱形
+                        spawnArch(spawnX, groundCollisionY - ARCH_PEAK_OFFSET, ARCH_WIDTH);
+                    } else {
+                        // 大部分情況生成一條直線糖果
+                        spawnStraight(spawnX, startY);
+                    }
+                }
+            }
+
+            // 重置距離累積
+            lastSpawnCameraX = camera.getX();
+        }
+    }
+
+    // 獨立生成方法：生成直線 (平地)
+    private void spawnStraight(int startX, int startY) {
+        int count = random.nextInt(4) + 4;  // 4~7 顆
+        int spacing = 80;                   // 每顆間隔 80 像素
+        for (int i = 0; i < count; i++) {
+            addCandy(startX + i * spacing, startY);
+        }
+    }
+
+    // 獨立生成方法：生成拱形 (跳躍路徑)
+    private void spawnArch(int startX, int peakY, int archWidth) {
+        int steps = 4;
+        int startY = groundCollisionY - CANDY_Y_BASE_OFFSET; // 拱形起始 Y 座標
+
+        // 拋物線方程：y = A * (x - h)^2 + k
+        int h = startX + archWidth / 2;
+        int k = peakY; // 頂點 Y
+
+        // A 的計算：當 x = startX 時，y = startY
+        float A = (startY - k) / (float) Math.pow(startX - h, 2);
+
+        for (int i = 0; i <= steps; i++) {
+            int currentX = startX + (archWidth / steps) * i;
+            int currentY = (int) (A * Math.pow(currentX - h, 2) + k);
+
+            addCandy(currentX, currentY);
+        }
+    }
+
+    /**
+     * 設定每隔多少像素嘗試生成一組糖果（越小越密集）
+     */
+    public void setSpawnDistance(int spawnDistance) {
+        this.spawnDistance = Math.max(1, spawnDistance);
+    }
+
+    public int getSpawnDistance() {
+        return spawnDistance;
+    }
+
+    /**
+     * 直接在指定位置放一顆糖果（世界座標，測試和效能量測用）
+     * @return 緩衝區已滿時回傳 false
+     */
+    public boolean spawn(int worldX, int y) {
+        return addCandy(worldX, y);
+    }
+
+    /**
+     * 依 X 排序插入一顆糖果；滿了就不生成（不會配置新陣列）
+     * 新糖果幾乎都在最右邊，通常不需要搬動任何元素
+     */
+    private boolean addCandy(int x, int y) {
+        if (candyCount == MAX_CANDIES) return false;
+
+        int position = candyCount;
+        while (position > 0) {
+            int prevSlot = (head + position - 1) & INDEX_MASK;
+            if (candyX[prevSlot] <= x) break;
+
+            // 比新糖果右邊的往後挪一格
+            int slot = (head + position) & INDEX_MASK;
+            candyX[slot] = candyX[prevSlot];
+            candyY[slot] = candyY[prevSlot];
+            setCollectedBit(slot, isCollected(prevSlot));
+            position--;
+        }
+
+        int slot = (head + position) & INDEX_MASK;
+        candyX[slot] = x;
+        candyY[slot] = y;
+        setCollectedBit(slot, false);
+        candyCount++;
+        return true;
+    }
+
+    /**
+     * 二分搜尋：找出第一顆 X >= worldX 的糖果（回傳排序位置 0 ~ candyCount）
+     */
+    private int lowerBound(int worldX) {
+        int low = 0;
+        int high = candyCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (candyX[(head + mid) & INDEX_MASK] < worldX) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private boolean isCollected(int slot) {
+        return (collectedBits[slot >> 6] & (1L << slot)) != 0;
+    }
+
+    private void setCollectedBit(int slot, boolean collected) {
+        if (collected) {
+            collectedBits[slot >> 6] |= 1L << slot;
+        } else {
+            collectedBits[slot >> 6] &= ~(1L << slot);
+        }
+    }
+
+    /**
+     * 檢查角色是否碰到糖果，碰到的糖果標記為已收集（之後從緩衝區前端移除）
+     * 只檢查角色 X 範圍附近的糖果，不會掃過全部
+     *
+     * 角色框用螢幕座標（left, top, right, bottom）
+     * @param listener 每吃到一顆就通知一次（可為 null）
+     * @return 這次碰到的糖果數量
+     */
+    public int collect(int left, int top, int right, int bottom, OnCandyCollectedListener listener) {
+        // 角色在螢幕座標，換算成世界座標再查詢
+        int cameraX = camera.toWorldX(0);
+        int worldLeft = left + cameraX;
+        int worldRight = right + cameraX;
+
+        int collectedCount = 0;
+        for (int i = lowerBound(worldLeft - CANDY_SIZE + 1); i < candyCount; i++) {
+            int slot = (head + i) & INDEX_MASK;
+            int x = candyX[slot];
+            if (x >= worldRight) break;
+
+            int y = candyY[slot];
+            if (!isCollected(slot) && top < y + CANDY_SIZE && y < bottom) {
+                setCollectedBit(slot, true);
+                collectedCount++;
+
+                if (listener != null) {
+                    listener.onCandyCollected(x, y);
+                }
+            }
+        }
+        return collectedCount;
+    }
+
+    /**
+     * 矩形範圍查詢（世界座標）：找出和矩形重疊、還沒被收集的糖果
+     *
+     * @param outSlots 呼叫端提供的陣列，寫入找到的糖果編號（可用 getCandyX / getCandyY 讀位置）
+     * @return 找到的數量（最多 outSlots.length 顆）
+     */
+    public int queryRect(int left, int top, int right, int bottom, int[] outSlots) {
+        int found = 0;
+        for (int i = lowerBound(left - CANDY_SIZE + 1); i < candyCount && found < outSlots.length; i++) {
+            int slot = (head + i) & INDEX_MASK;
+            if (candyX[slot] >= right) break;
+
+            int y = candyY[slot];
+            if (!isCollected(slot) && top < y + CANDY_SIZE && y < bottom) {
+                outSlots[found++] = slot;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * 半徑範圍查詢（世界座標）：找出中心點距離 (centerX, centerY) 在 radius 以內的糖果
+     * 之後做「磁鐵」吸糖果可以直接用這個
+     *
+     * @param outSlots 呼叫端提供的陣列，寫入找到的糖果編號
+     * @return 找到的數量（最多 outSlots.length 顆）
+     */
+    public int queryRadius(int centerX, int centerY, int radius, int[] outSlots) {
+        int half = CANDY_SIZE / 2;
+        long radiusSquared = (long) radius * radius;
+
+        int found = 0;
+        for (int i = lowerBound(centerX - radius - half); i < candyCount && found < outSlots.length; i++) {
+            int slot = (head + i) & INDEX_MASK;
+            int x = candyX[slot];
+            if (x > centerX + radius - half) break;
+
+            long dx = x + half - centerX;
+            long dy = candyY[slot] + half - centerY;
+            if (!isCollected(slot) && dx * dx + dy * dy <= radiusSquared) {
+                outSlots[found++] = slot;
+            }
+        }
+        return found;
+    }
+
+    // ====== 給繪製用：依序走訪 0 ~ getCandyCount()-1，用 getSlot 取得編號 ======
+
+    /** 緩衝區裡的糖果數（包含已收集、還沒移除的） */
+    public int getCandyCount() {
+        return candyCount;
+    }
+
+    /** 由左到右第 i 顆糖果的編號 */
+    public int getSlot(int i) {
+        return (head + i) & INDEX_MASK;
+    }
+
+    /** 這個編號的糖果是否已被收集 */
+    public boolean isCollectedSlot(int slot) {
+        return isCollected(slot);
+    }
+
+    /** 糖果左上角的世界 X（slot 來自 getSlot / queryRect / queryRadius） */
+    public int getCandyX(int slot) {
+        return candyX[slot];
+    }
+
+    /** 糖果左上角的 Y（slot 來自 getSlot / queryRect / queryRadius） */
+    public int getCandyY(int slot) {
+        return candyY[slot];
+    }
+
+    public Camera getCamera() {
+        return camera;
+    }
+
+    /** 目前還在場上（未收集）的糖果數 */
+    public int getLiveCandyCount() {
+        int live = 0;
+        for (int i = 0; i < candyCount; i++) {
+            if (!isCollected((head + i) & INDEX_MASK)) live++;
+        }
+        return live;
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.project_group08.core;
+
+/**
+ * 遊戲迴圈的生命週期（不依賴 Android）：
+ * 有任何一個暫停原因（Activity onPause、Surface 不在）時迴圈就停住，全部解除才繼續。
+ * 停住時不輪詢、不佔 CPU：
+ * - 每一次 vsync 回呼先呼叫 onFrame()，暫停中回傳 false，就不再排下一幀，
+ *   GameThread 的 Looper 沒有訊息就睡著
+ * - GameThread 不再送出新的一幀，RenderThread 就一直停在 RenderFrameExchange.awaitFrame
+ * - 全部解除時通知 Listener，由迴圈的執行緒呼叫 tryResume() 重新排 vsync
+ * 「已經排了下一幀」也記在這裡，恢復時不會重複排兩次
+ */
+public class EngineLifecycle {
+
+    /**
+     * 從暫停恢復成執行中時呼叫（在呼叫 unblock 的那條執行緒上）
+     */
+    public interface Listener {
+        void onResumed();
+    }
+
+    // 暫停原因（可以同時有好幾個）
+    public static final int PAUSED = 1;        // Activity 不在前景
+    public static final int NO_SURFACE = 2;    // Surface 還沒建立或已經銷毀
+
+    private int blockers;
+    private boolean shutdown = false;
+    private boolean framePosted = false;     // 迴圈已經排了下一次 vsync 回呼
+    private Listener listener;
+
+    /** 一開始 Surface 還沒建立 */
+    public EngineLifecycle() {
+        this(NO_SURFACE);
+    }
+
+    public EngineLifecycle(int initialBlockers) {
+        this.blockers = initialBlockers;
+    }
+
+    public synchronized void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    /** 加上一個暫停原因 */
+    public synchronized void block(int reason) {
+        blockers |= reason;
+    }
+
+    /** 解除一個暫停原因；全部解除時通知 Listener */
+    public void unblock(int reason) {
+        Listener resumedListener = null;
+
+        synchronized (this) {
+            boolean wasBlocked = blockers != 0;
+            blockers &= ~reason;
+
+            if (wasBlocked && blockers == 0 && !shutdown) {
+                resumedListener = listener;
+            }
+        }
+
+        // 在鎖外面通知，Listener 裡可以再呼叫這個物件
+        if (resumedListener != null) {
+            resumedListener.onResumed();
+        }
+    }
+
+    /** 永久停止，之後 onFrame、tryResume 都回傳 false */
+    public synchronized void shutdown() {
+        shutdown = true;
+    }
+
+    /** 沒有任何暫停原因、也還沒停止 */
+    public synchronized boolean isRunning() {
+        return blockers == 0 && !shutdown;
+    }
+
+    /**
+     * vsync 回呼一開始呼叫（上一次排的回呼已經執行了）
+     * @return true = 繼續跑這一幀並排下一次回呼；false = 暫停中，不要再排
+     */
+    public synchronized boolean onFrame() {
+        framePosted = isRunning();
+        return framePosted;
+    }
+
+    /**
+     * 恢復時呼叫（在迴圈的執行緒上）
+     * @return true = 需要重新排 vsync 回呼；已經排了、還在暫停或已經停止時 false
+     */
+    public synchronized boolean tryResume() {
+        if (framePosted || !isRunning()) return false;
+        framePosted = true;
+        return true;
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.project_group08.core;
+
+/**
+ * 固定區間的時間分佈（不依賴 Android）：
+ * 每 BUCKET_NANOS 一格，超過最後一格的算在溢位格，記錄時只加計數，不配置物件。
+ * 記錄和讀取可能在不同執行緒，方法都是 synchronized（沒有競爭時很便宜）。
+ */
+public class FrameHistogram {
+
+    // 0.1 ms 一格，共 100 ms；更長的算在溢位格（百分位數用 max）
+    public static final long BUCKET_NANOS = 100_000L;
+    public static final int BUCKET_COUNT = 1000;
+
+    private final long[] buckets = new long[BUCKET_COUNT + 1];
+    private long count = 0;
+    private long totalNanos = 0;
+    private long maxNanos = 0;
+
+    public synchronized void record(long nanos) {
+        if (nanos < 0) nanos = 0;
+
+        int index = (int) Math.min(nanos / BUCKET_NANOS, BUCKET_COUNT);
+        buckets[index]++;
+        count++;
+        totalNanos += nanos;
+        if (nanos > maxNanos) maxNanos = nanos;
+    }
+
+    /**
+     * 百分位數（nearest-rank），回傳那一格的上緣，誤差最多一格
+     * @param percentile 0 ~ 100
+     * @return 奈秒；沒有資料時為 0
+     */
+    public synchronized long getPercentileNanos(double percentile) {
+        if (count == 0) return 0;
+
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += buckets[i];
+            if (seen >= rank) {
+                return Math.min((i + 1) * BUCKET_NANOS, maxNanos);
+            }
+        }
+        return maxNanos;   // 落在溢位格
+    }
+
+    public synchronized long getCount() {
+        return count;
+    }
+
+    public synchronized long getMaxNanos() {
+        return maxNanos;
+    }
+
+    public synchronized long getMeanNanos() {
+        return count == 0 ? 0 : totalNanos / count;
+    }
+
+    /**
+     * 目前內容的複本（陣列整個複製），之後原本的繼續記錄也不影響複本
+     */
+    public synchronized FrameHistogram copy() {
+        FrameHistogram copy = new FrameHistogram();
+        System.arraycopy(buckets, 0, copy.buckets, 0, buckets.length);
+        copy.count = count;
+        copy.totalNanos = totalNanos;
+        copy.maxNanos = maxNanos;
+        return copy;
+    }
+
+    public synchronized void reset() {
+        for (int i = 0; i < buckets.length; i++) buckets[i] = 0;
+        count = 0;
+        totalNanos = 0;
+        maxNanos = 0;
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.project_group08.core;
+
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * 每一幀各階段花的時間（不依賴 Android），每個階段一個 FrameHistogram：
+ * GameThread 記錄 update、整幀、CPU 時間；RenderThread 記錄 lockCanvas、draw、unlockCanvasAndPost、CPU 時間。
+ * 記錄不配置物件；輸出 JSON / CSV 摘要時才建立字串。
+ * 匯出時先用 snapshot() 複製計數，排版交給背景執行緒，不在遊戲 / UI 執行緒上組字串。
+ */
+public class FrameTimings {
+
+    // 階段
+    public static final int PHASE_LOCK_CANVAS = 0;
+    public static final int PHASE_UPDATE = 1;
+    public static final int PHASE_DRAW = 2;
+    public static final int PHASE_UNLOCK_POST = 3;
+    public static final int PHASE_GAME_FRAME = 4;     // GameThread 一整幀（輸入 + update + 寫繪製指令）
+    public static final int PHASE_GAME_CPU = 5;       // GameThread 一整幀的執行緒 CPU 時間
+    public static final int PHASE_RENDER_CPU = 6;     // RenderThread 一幀的執行緒 CPU 時間
+    public static final int PHASE_COUNT = 7;
+
+    private static final String[] PHASE_NAMES = {
+            "lockCanvas", "update", "draw", "unlockCanvasAndPost",
+            "gameFrame", "gameThreadCpu", "renderThreadCpu"
+    };
+
+    private final FrameHistogram[] histograms = new FrameHistogram[PHASE_COUNT];
+
+    private long frames = 0;
+    private long jankFrames = 0;
+
+    public FrameTimings() {
+        for (int i = 0; i < PHASE_COUNT; i++) {
+            histograms[i] = new FrameHistogram();
+        }
+    }
+
+    public void record(int phase, long nanos) {
+        histograms[phase].record(nanos);
+    }
+
+    /** 一幀結束（GameThread），late = 沒趕上 vsync */
+    public synchronized void onFrame(boolean late) {
+        frames++;
+        if (late) jankFrames++;
+    }
+
+    /**
+     * 目前所有計數的複本（只複製陣列，不建立字串），可以交給別的執行緒慢慢輸出
+     */
+    public FrameTimings snapshot() {
+        FrameTimings copy = new FrameTimings();
+        for (int i = 0; i < PHASE_COUNT; i++) {
+            copy.histograms[i] = histograms[i].copy();
+        }
+        synchronized (this) {
+            copy.frames = frames;
+            copy.jankFrames = jankFrames;
+        }
+        return copy;
+    }
+
+    public FrameHistogram getHistogram(int phase) {
+        return histograms[phase];
+    }
+
+    public static String getPhaseName(int phase) {
+        return PHASE_NAMES[phase];
+    }
+
+    public synchronized long getFrameCount() {
+        return frames;
+    }
+
+    public synchronized long getJankFrameCount() {
+        return jankFrames;
+    }
+
+    public synchronized void reset() {
+        frames = 0;
+        jankFrames = 0;
+        for (FrameHistogram histogram : histograms) histogram.reset();
+    }
+
+    /**
+     * JSON 摘要
+     * @param gcCount / gcTimeMs 這段期間的 GC 次數和時間（由呼叫端提供，不支援時傳 -1）
+     */
+    public void writeJson(Appendable out, long gcCount, long gcTimeMs) throws IOException {
+        out.append("{\n");
+        out.append("  \"frames\": ").append(Long.toString(getFrameCount())).append(",\n");
+        out.append("  \"jankFrames\": ").append(Long.toString(getJankFrameCount())).append(",\n");
+        out.append("  \"gcCount\": ").append(Long.toString(gcCount)).append(",\n");
+        out.append("  \"gcTimeMs\": ").append(Long.toString(gcTimeMs)).append(",\n");
+        out.append("  \"phases\": {\n");
+        for (int i = 0; i < PHASE_COUNT; i++) {
+            FrameHistogram h = histograms[i];
+            out.append(String.format(Locale.US,
+                    "    \"%s\": {\"count\": %d, \"p50Ms\": %.2f, \"p90Ms\": %.2f, \"p99Ms\": %.2f, \"maxMs\": %.2f}%s\n",
+                    PHASE_NAMES[i], h.getCount(),
+                    toMillis(h.getPercentileNanos(50)),
+                    toMillis(h.getPercentileNanos(90)),
+                    toMillis(h.getPercentileNanos(99)),
+                    toMillis(h.getMaxNanos()),
+                    (i < PHASE_COUNT - 1) ? "," : ""));
+        }
+        out.append("  }\n");
+        out.append("}\n");
+    }
+
+    /**
+     * CSV 摘要：每個階段一行，最後附上幀數、jank、GC
+     */
+    public void writeCsv(Appendable out, long gcCount, long gcTimeMs) throws IOException {
+        out.append("phase,count,p50_ms,p90_ms,p99_ms,max_ms\n");
+        for (int i = 0; i < PHASE_COUNT; i++) {
+            FrameHistogram h = histograms[i];
+            out.append(String.format(Locale.US, "%s,%d,%.2f,%.2f,%.2f,%.2f\n",
+                    PHASE_NAMES[i], h.getCount(),
+                    toMillis(h.getPercentileNanos(50)),
+                    toMillis(h.getPercentileNanos(90)),
+                    toMillis(h.getPercentileNanos(99)),
+                    toMillis(h.getMaxNanos())));
+        }
+        out.append("\nmetric,value\n");
+        out.append("frames,").append(Long.toString(getFrameCount())).append('\n');
+        out.append("jank_frames,").append(Long.toString(getJankFrameCount())).append('\n');
+        out.append("gc_count,").append(Long.toString(gcCount)).append('\n');
+        out.append("gc_time_ms,").append(Long.toString(gcTimeMs)).append('\n');
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
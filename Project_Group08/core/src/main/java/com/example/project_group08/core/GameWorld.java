@@ -0,0 +1,260 @@
+package com.example.project_group08.core;
+
+import java.util.Random;
+
+/**
+ * 整個遊戲世界的邏輯（不依賴 Android）：
+ * 鏡頭捲動、地板、洞、糖果、角色物理和血量。
+ * app 的 GameView 每一步呼叫 step()，畫面只負責把這裡的狀態畫出來；
+ * 在電腦上也可以直接 new 一個 GameWorld 跑大量模擬或 JUnit 測試。
+ */
+public class GameWorld {
+
+    // ⭐ 捲動速度（像素/秒），由鏡頭統一移動，不再各自寫死
+    public static final float BASE_RUN_SPEED = 600f;
+
+    private final int screenWidth;
+    private final int screenHeight;
+
+    private final Camera camera = new Camera();
+    private final GroundModel ground;
+    private final CandyModel candy;
+    private final PlayerModel player;
+    private final HpModel hp = new HpModel();
+
+    // 效能追蹤（預設不做事，app 開啟追蹤時換成 android.os.Trace）
+    private Tracer tracer = Tracer.NONE;
+
+    private float runSpeedScale = 1f;     // 跑速倍率（難度調整用）
+    private float gameTime = 0;
+
+    // ⭐ 紀錄這一局有沒有掉進洞洞
+    private boolean hasFallen = false;
+    private boolean isGameOver = false;
+
+    public GameWorld(int screenWidth, int screenHeight) {
+        this(screenWidth, screenHeight, 0f, new Random());
+    }
+
+    /**
+     * @param playerGroundOffset 角色腳底相對地板碰撞高度的偏移（往下為正）
+     * @param random 地板和糖果共用的亂數（測試時可傳固定種子）
+     */
+    public GameWorld(int screenWidth, int screenHeight, float playerGroundOffset, Random random) {
+        this.screenWidth = screenWidth;
+        this.screenHeight = screenHeight;
+
+        // 先建地板，算好地板碰撞高度
+        ground = new GroundModel(screenWidth, screenHeight, camera, random);
+
+        // ⭐ 再建糖果，以地板碰撞高度為基準擺放
+        candy = new CandyModel(screenWidth, ground.getGroundCollisionY(), camera, random);
+
+        // 角色的腳底高度 = 地板的碰撞高度
+        player = new PlayerModel(screenWidth, ground.getGroundCollisionY() + playerGroundOffset);
+    }
+
+    /**
+     * 重新開始一局：所有 model 就地重設，不配置新物件
+     * @param playerGroundOffset 角色腳底相對地板碰撞高度的偏移（往下為正）
+     */
+    public void reset(float playerGroundOffset) {
+        // 鏡頭要先回到原點，地板和糖果才會從原點重新鋪
+        camera.reset();
+        ground.reset();
+        candy.reset();
+        player.reset(ground.getGroundCollisionY() + playerGroundOffset);
+        hp.reset();
+
+        gameTime = 0;
+        hasFallen = false;      // 新的一局還沒掉洞
+        isGameOver = false;
+    }
+
+    /**
+     * 以固定步長更新整個世界
+     * @param deltaTime 每一步的時間(秒)
+     */
+    public void step(float deltaTime) {
+        // 鏡頭往前移動：速度 × 時間
+        camera.advance(BASE_RUN_SPEED * runSpeedScale * deltaTime);
+
+        // 1️⃣ 不管有沒有 GameOver，地板一律更新（背景還是會動）
+        tracer.beginSection("Ground.update");
+        ground.update();
+        tracer.endSection();
+
+        // ⭐ 不管有沒有 GameOver，糖果也要跟著地板移動
+        tracer.beginSection("Candy.update");
+        candy.update(ground);
+        tracer.endSection();
+
+        // 2️⃣ 還沒 GameOver 的情況下，才判斷是否踩到洞洞 & HP 歸零 & 吃糖果
+        if (!isGameOver) {
+            tracer.beginSection("collision");
+
+            // 2-1 掉洞洞判斷：只在「還沒掉進洞」時檢查
+            if (!hasFallen) {
+                boolean isOnHole = ground.isPlayerFalling(
+                        (int) player.getX(),   // 角色固定 X
+                        (int) player.getY()    // 腳底 Y
+                );
+
+                if (isOnHole) {
+                    // 第一次掉進洞
+                    hasFallen = true;
+                    player.setIgnoreGroundCollision(true); // 後續不再被地板接住
+                    isGameOver = true;                     // 立刻顯示遊戲結束畫面
+                } else {
+                    // 正常跑在地板上
+                    player.setIgnoreGroundCollision(false);
+                }
+            }
+
+            // 2-2 吃糖果判斷（只有在還沒掉洞、還沒 GameOver 時才會吃到）
+            if (!hasFallen) {
+                int collectedCount = candy.collect(
+                        player.getCollisionLeft(),
+                        player.getCollisionTop(),
+                        player.getCollisionRight(),
+                        player.getCollisionBottom(),
+                        null);
+
+                if (collectedCount > 0) {
+                    // 👉 成功吃到糖果！累積到 50 顆時自動回血 25 HP
+                    hp.addCandyCount(collectedCount);
+                }
+            }
+            tracer.endSection();
+
+            // 2-3 HP / 存活時間（只在未 GameOver 時更新）
+            gameTime += deltaTime;
+            hp.update(deltaTime);
+
+            // HP 歸零的 Game Over：只在「還沒掉洞洞」時才會生效
+            if (!hasFallen && hp.isGameOver()) {
+                isGameOver = true;
+                player.setGameOver(true);
+            }
+        }
+
+        // 如果已經掉下去了 → 強制一直忽略地板，繼續往下掉
+        if (hasFallen) {
+            player.setIgnoreGroundCollision(true);
+        }
+
+        // 3️⃣ Player 一律更新（即使 GameOver 了，掉洞洞時還是會繼續掉）
+        if (!player.isGameOver()) {
+            tracer.beginSection("Player.update");
+            player.update(deltaTime);
+            tracer.endSection();
+        }
+
+        // 4️⃣ 掉進洞且掉到螢幕下方一段距離 → 把角色凍住（此時畫面上看不到他）
+        if (hasFallen && !player.isGameOver()) {
+            if (player.getY() > screenHeight + 100) {
+                player.setGameOver(true);
+            }
+        }
+    }
+
+    /**
+     * 把目前的畫面寫成繪製指令（地板 → 糖果 → 角色，再加上 HUD 數值）
+     * @param alpha 上一步(0)到這一步(1)之間的插值比例
+     * @param playerFrame 角色目前的動畫格（由畫面層決定，原樣放進指令）
+     */
+    public void writeRenderCommands(RenderCommandBuffer out, float alpha, int playerFrame) {
+        out.setScreen(isGameOver ? RenderCommandBuffer.SCREEN_GAME_OVER : RenderCommandBuffer.SCREEN_PLAYING);
+
+        // 插值後的鏡頭位置：世界座標減掉它就是螢幕座標
+        int cameraX = (int) camera.getRenderX(alpha);
+
+        int tileCount = ground.getTileCount();
+        for (int i = 0; i < tileCount; i++) {
+            int tileX = ground.getTileX(i);
+            out.addTile(ground.getTileType(i), tileX, tileX - cameraX);
+        }
+
+        int candyCount = candy.getCandyCount();
+        for (int i = 0; i < candyCount; i++) {
+            int slot = candy.getSlot(i);
+            if (!candy.isCollectedSlot(slot)) {
+                out.addSprite(RenderCommandBuffer.SPRITE_CANDY, 0,
+                        candy.getCandyX(slot) - cameraX, candy.getCandyY(slot));
+            }
+        }
+
+        // 角色：x 是中心、y 是腳底，換成左上角
+        out.addSprite(RenderCommandBuffer.SPRITE_PLAYER, playerFrame,
+                player.getX() - player.getWidth() / 2f,
+                player.getRenderY(alpha) - player.getHeight());
+
+        out.setHud((int) hp.getCurrentHP(), (int) hp.getMaxHP(), hp.getCandyCount());
+    }
+
+    /**
+     * 點一下就跳
+     * @return 真的跳起來了（已經在空中或 GameOver 時為 false）
+     */
+    public boolean jump() {
+        return player.jump();
+    }
+
+    /**
+     * 設定效能追蹤（null = 不追蹤）
+     */
+    public void setTracer(Tracer tracer) {
+        this.tracer = (tracer != null) ? tracer : Tracer.NONE;
+    }
+
+    /**
+     * 設定跑速倍率（1 = 原本速度），地板、糖果一起變快變慢
+     */
+    public void setRunSpeedScale(float scale) {
+        this.runSpeedScale = scale;
+    }
+
+    public float getRunSpeedScale() {
+        return runSpeedScale;
+    }
+
+    public boolean isGameOver() {
+        return isGameOver;
+    }
+
+    public boolean hasFallen() {
+        return hasFallen;
+    }
+
+    public float getGameTime() {
+        return gameTime;
+    }
+
+    public int getScreenWidth() {
+        return screenWidth;
+    }
+
+    public int getScreenHeight() {
+        return screenHeight;
+    }
+
+    public Camera getCamera() {
+        return camera;
+    }
+
+    public GroundModel getGround() {
+        return ground;
+    }
+
+    public CandyModel getCandy() {
+        return candy;
+    }
+
+    public PlayerModel getPlayer() {
+        return player;
+    }
+
+    public HpModel getHp() {
+        return hp;
+    }
+}
@@ -0,0 +1,210 @@
+package com.example.project_group08.core;
+
+import java.util.Random;
+
+/**
+ * 地板的邏輯部分：圖塊生成、洞的判定、地板高度。
+ * 不含任何圖片，畫面由 app 的 Ground 負責。
+ */
+public class GroundModel {
+
+    // === 調整後的參數 ===
+    public static final int TILE_WIDTH = 1024;    // 單一地板圖片寬
+    private static final int GAP_PERCENT_CHANCE = 70; // 設為 70% 機率生成有洞圖塊
+
+    // 圖塊種類代碼（環形緩衝區裡只存這個數字）
+    public static final int TILE_NONE = -1;   // 查詢的位置沒有圖塊
+    public static final int TILE_FLOOR = 0;   // 一般地板
+    public static final int TILE_GAP = 1;     // 有洞的地板
+
+    private final int screenWidth;
+
+    private final int groundHeight;       // 地板高度（畫面 40%）
+    private final int groundTopPosition;  // 地板開始 Y
+    private final int groundCollisionY;   // 薑餅人腳底 Y（用於落地判斷）
+
+    // ⭐ 固定容量的環形緩衝區：圖塊一個接一個排列，只需記錄第一塊的世界 X
+    //    第 i 塊的世界 X = firstTileX + i * TILE_WIDTH，種類 = tileTypes[(head + i) % capacity]
+    private final int[] tileTypes;
+    private int head = 0;         // 第一塊在陣列中的位置
+    private int tileCount = 0;    // 目前有幾塊
+    private int firstTileX;       // 第一塊的世界 X
+
+    private final Random random;
+
+    // ⭐ 世界鏡頭：圖塊存的是世界座標，捲動只移動鏡頭
+    private final Camera camera;
+
+    public GroundModel(int screenW, int screenH, Camera camera, Random random) {
+        this.screenWidth = screenW;
+        this.camera = camera;
+        this.random = random;
+
+        // 畫面寬度能放幾塊，再加上左右兩端各自進出畫面的圖塊
+        tileTypes = new int[screenW / TILE_WIDTH + 4];
+
+        // ⭐ 讓地板高度占畫面 40% (作為基礎高度)
+        groundHeight = groundHeightFor(screenH);
+
+        // ⭐ 地板開始位置：從螢幕底部往上 groundHeight
+        groundTopPosition = screenH - groundHeight;
+
+        // ⭐ 薑餅人腳底碰撞高度（草皮上緣，適度往下）
+        groundCollisionY = groundTopPosition + 180; // 保持相對位置
+
+        reset();
+    }
+
+    /**
+     * 地板高度（畫面 40%），建立 GroundModel 之前就能先算出來（例如預先縮放地板圖片）
+     */
+    public static int groundHeightFor(int screenH) {
+        return (int) (screenH * 0.4f);
+    }
+
+    /**
+     * 重新鋪地板（從鏡頭目前位置開始），沿用同一個環形緩衝區，不配置新物件
+     * 重新開始時先 camera.reset() 再呼叫
+     */
+    public void reset() {
+        head = 0;
+        tileCount = 0;
+
+        // === 初始化地板 tiles（從鏡頭目前位置開始鋪） ===
+        firstTileX = (int) camera.getX();
+
+        // 🚨 修正：確保第一個圖塊 (x=0) 永遠是普通地板 (FLOOR_TILE)
+        addTile(TILE_FLOOR);
+
+        // 確保後續圖塊填充直到填滿畫面
+        while (getTileEndX() < firstTileX + screenWidth + TILE_WIDTH) {
+            addTile(TILE_FLOOR);
+        }
+    }
+
+    /**
+     * 鏡頭移動後，只處理左右兩端的圖塊，不用逐一修改每個圖塊的座標
+     */
+    public void update() {
+        if (tileCount == 0) return;
+
+        // 左邊移出畫面就刪除（以上一步的鏡頭位置判斷，插值繪製時左邊才不會露出空隙）
+        float visibleLeft = camera.getPreviousX();
+        while (tileCount > 0 && firstTileX + TILE_WIDTH < visibleLeft) {
+            head = (head + 1) % tileTypes.length;
+            tileCount--;
+            firstTileX += TILE_WIDTH;
+        }
+
+        // 右邊補 tiles：最後一個圖塊滾入畫面就生成下一個
+        float visibleRight = camera.getX() + screenWidth;
+        while (tileCount < tileTypes.length && getTileEndX() < visibleRight) {
+            generateNextTile();
+        }
+    }
+
+    private void generateNextTile() {
+        int tileType = (random.nextInt(100) < GAP_PERCENT_CHANCE)
+                ? TILE_GAP
+                : TILE_FLOOR;
+
+        addTile(tileType);
+    }
+
+    /** 在最右邊接上一塊（不配置新物件，直接寫入環形緩衝區） */
+    private void addTile(int tileType) {
+        tileTypes[(head + tileCount) % tileTypes.length] = tileType;
+        tileCount++;
+    }
+
+    /** 最後一塊右邊緣的世界 X */
+    private int getTileEndX() {
+        return firstTileX + tileCount * TILE_WIDTH;
+    }
+
+    /**
+     * 用算術直接找出世界 X 所在的圖塊：(x - firstTileX) / TILE_WIDTH
+     * @param x 世界座標的 X
+     * @return 圖塊種類代碼；不在任何圖塊上時回傳 TILE_NONE
+     */
+    public int getTileTypeAt(int x) {
+        if (x < firstTileX) return TILE_NONE;
+
+        int index = (x - firstTileX) / TILE_WIDTH;
+        if (index >= tileCount) return TILE_NONE;
+
+        return tileTypes[(head + index) % tileTypes.length];
+    }
+
+    /**
+     * 檢查指定的 X 座標是否落在 Gap 區域內 (供糖果生成查詢)
+     * @param x 世界座標的 X
+     * @return 如果 X 座標位於 Gap 的精準像素範圍內，返回 true
+     */
+    public boolean isXCoordinateGap(int x) {
+        int tileType = getTileTypeAt(x);
+        // 如果 X 座標在任何圖塊之外
+        if (tileType == TILE_NONE) return false;
+
+        // 將精準判定委託給 Gap 處理
+        int tileX = x - (x - firstTileX) % TILE_WIDTH;
+        return Gap.checkFalling(x, tileType, tileX);
+    }
+
+    /**
+     * 檢查角色是否掉落
+     * @param playerX 角色在螢幕上的 X 座標
+     * @param playerY 角色在螢幕上的 Y 座標
+     * @return 如果角色掉落，返回 true
+     */
+    public boolean isPlayerFalling(int playerX, int playerY) {
+        // 1. 檢查 Y 軸：是否到達或超過碰撞點
+        if (playerY < groundCollisionY) return false;
+
+        // 2. 角色在螢幕座標，換算成世界座標再查詢所在圖塊
+        return isXCoordinateGap(camera.toWorldX(playerX));
+    }
+
+    // ====== 給繪製用的 getter ======
+
+    /** 目前有幾塊圖塊 */
+    public int getTileCount() {
+        return tileCount;
+    }
+
+    /** 第 i 塊（由左到右）的種類代碼 */
+    public int getTileType(int i) {
+        return tileTypes[(head + i) % tileTypes.length];
+    }
+
+    /** 環形緩衝區最多能放幾塊 */
+    public int getTileCapacity() {
+        return tileTypes.length;
+    }
+
+    /** 第 i 塊（由左到右）在環形緩衝區中的位置（0 ~ getTileCapacity()-1），相鄰圖塊的位置也相鄰（會繞回 0） */
+    public int getTileSlot(int i) {
+        return (head + i) % tileTypes.length;
+    }
+
+    /** 第 i 塊（由左到右）的世界 X */
+    public int getTileX(int i) {
+        return firstTileX + i * TILE_WIDTH;
+    }
+
+    public int getGroundHeight() {
+        return groundHeight;
+    }
+
+    public int getGroundTopPosition() {
+        return groundTopPosition;
+    }
+
+    public int getGroundCollisionY() {
+        return groundCollisionY;
+    }
+
+    public Camera getCamera() {
+        return camera;
+    }
+}
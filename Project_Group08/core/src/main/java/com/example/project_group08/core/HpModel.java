@@ -0,0 +1,91 @@
+package com.example.project_group08.core;
+
+/**
+ * 血量與糖果計數（時間扣血、吃糖果回血）
+ * 畫面由 app 的 HpBar 負責。
+ */
+public class HpModel {
+    private float maxHP = 100;
+    private float currentHP = 100;
+    private float hpDecayPerSecond = 2.5f;  // 每秒扣 2.5 HP
+
+    private int candyCount = 0;  // 糖果計數
+    private static final int CANDIES_FOR_HEALING = 50;  // 50 顆糖果回血
+    private static final float HP_RECOVER_AMOUNT = 25f;  // 回復 25 HP
+
+    /**
+     * 更新血量(根據時間扣血)
+     * @param deltaTime 自上次更新經過的時間(秒)
+     */
+    public void update(float deltaTime) {
+        currentHP -= hpDecayPerSecond * deltaTime;
+
+        // 血量不能低於 0
+        if (currentHP < 0) {
+            currentHP = 0;
+        }
+    }
+
+    /**
+     * 吃到糖果，增加糖果計數，累積到 50 顆時回血
+     * @param count 本次增加的糖果數(通常是 1)
+     */
+    public void addCandyCount(int count) {
+        candyCount += count;
+
+        // 每 50 顆糖果回復一次血量
+        if (candyCount >= CANDIES_FOR_HEALING) {
+            candyCount -= CANDIES_FOR_HEALING;
+            recoverHP(HP_RECOVER_AMOUNT);
+        }
+    }
+
+    /**
+     * 恢復血量
+     * @param amount 恢復的血量
+     */
+    private void recoverHP(float amount) {
+        currentHP += amount;
+
+        // 血量不能超過最大值
+        if (currentHP > maxHP) {
+            currentHP = maxHP;
+        }
+    }
+
+    /**
+     * 檢查是否遊戲結束(血量用盡)
+     */
+    public boolean isGameOver() {
+        return currentHP <= 0;
+    }
+
+    /**
+     * 重置血條和糖果計數
+     */
+    public void reset() {
+        currentHP = maxHP;
+        candyCount = 0;
+    }
+
+    // Getter 方法
+    public float getCurrentHP() {
+        return currentHP;
+    }
+
+    public float getMaxHP() {
+        return maxHP;
+    }
+
+    public void setCurrentHP(float hp) {
+        this.currentHP = hp;
+    }
+
+    public void setHpDecayPerSecond(float decay) {
+        this.hpDecayPerSecond = decay;
+    }
+
+    public int getCandyCount() {
+        return candyCount;
+    }
+}
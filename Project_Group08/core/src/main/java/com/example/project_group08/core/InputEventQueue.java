@@ -0,0 +1,136 @@
+package com.example.project_group08.core;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 觸控事件的環形佇列（單一寫入者 / 單一讀取者，不用鎖）：
+ * UI 執行緒 offer() 放進來，遊戲執行緒在每一步開始前 drainUntil() 取出，
+ * 只處理「發生時間」在這一步結束前的事件，跳躍就會在實際按下的那一步生效。
+ * 陣列一開始就配置好，放事件、取事件都不會配置物件。
+ */
+public class InputEventQueue {
+
+    /**
+     * 取出事件時呼叫（在讀取者的執行緒上）
+     */
+    public interface Listener {
+        void onInputEvent(int type, float x, float y, long eventTimeNanos);
+    }
+
+    // 事件種類
+    public static final int TOUCH_DOWN = 0;
+
+    public static final int DEFAULT_CAPACITY = 64;
+
+    private final int mask;
+    private final int[] types;
+    private final float[] xs;
+    private final float[] ys;
+    private final long[] times;
+
+    // head：下一個要讀的位置（只有讀取者寫）；tail：下一個要寫的位置（只有寫入者寫）
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+
+    private long droppedEvents = 0;   // 只有寫入者會改
+
+    public InputEventQueue() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity 容量，必須是 2 的次方
+     */
+    public InputEventQueue(int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("capacity must be a power of two: " + capacity);
+        }
+        mask = capacity - 1;
+        types = new int[capacity];
+        xs = new float[capacity];
+        ys = new float[capacity];
+        times = new long[capacity];
+    }
+
+    /**
+     * 放進一個事件（寫入者執行緒）
+     * @param eventTimeNanos 事件發生的時間，和遊戲執行緒的模擬時間同一個時鐘
+     * @return 佇列滿了（遊戲執行緒停住）就丟掉這個事件，回傳 false
+     */
+    public boolean offer(int type, float x, float y, long eventTimeNanos) {
+        long t = tail.get();
+        if (t - head.get() > mask) {
+            droppedEvents++;
+            return false;
+        }
+
+        int slot = (int) (t & mask);
+        types[slot] = type;
+        xs[slot] = x;
+        ys[slot] = y;
+        times[slot] = eventTimeNanos;
+
+        // 寫完內容才移動 tail，讀取者看到新的 tail 時內容一定已經寫好
+        tail.lazySet(t + 1);
+        return true;
+    }
+
+    /**
+     * 依序取出發生時間 <= untilNanos 的事件交給 listener（讀取者執行緒）
+     * 更晚的事件留在佇列裡，等模擬時間追上再處理
+     * @return 取出幾個事件
+     */
+    public int drainUntil(long untilNanos, Listener listener) {
+        long h = head.get();
+        long t = tail.get();
+        int drained = 0;
+
+        while (h < t) {
+            int slot = (int) (h & mask);
+            if (times[slot] > untilNanos) break;
+
+            listener.onInputEvent(types[slot], xs[slot], ys[slot], times[slot]);
+            h++;
+            drained++;
+
+            // 讀完才釋放這一格給寫入者
+            head.lazySet(h);
+        }
+        return drained;
+    }
+
+    /**
+     * 丟掉發生時間 <= untilNanos 的事件，不交給任何人（讀取者執行緒）
+     * 模擬停住的期間（例如拿不到畫布）用，恢復後才不會一次補上一整串觸控
+     * @return 丟掉幾個事件
+     */
+    public int discardUntil(long untilNanos) {
+        long h = head.get();
+        long t = tail.get();
+        int discarded = 0;
+
+        while (h < t && times[(int) (h & mask)] <= untilNanos) {
+            h++;
+            discarded++;
+        }
+
+        if (discarded > 0) {
+            head.lazySet(h);
+        }
+        return discarded;
+    }
+
+    /** 還沒取出的事件數 */
+    public int size() {
+        return (int) (tail.get() - head.get());
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /** 因為佇列滿了而丟掉的事件數（在寫入者執行緒讀才準確） */
+    public long getDroppedEventCount() {
+        return droppedEvents;
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.project_group08.core;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * 延遲統計：保留最近 windowSize 筆延遲（奈秒），可以算 p50 / p95 / p99
+ * 記錄時只寫進預先配置好的環形陣列，算百分位數時才排序一份複本。
+ * 可能同時被遊戲執行緒和繪製執行緒記錄，所以方法都是 synchronized（只有觸控時才會呼叫）。
+ */
+public class LatencyTracker {
+
+    private final long[] samples;
+    private final long[] sorted;      // 算百分位數用的複本
+    private int next = 0;             // 下一筆要寫的位置
+    private int sampleCount = 0;      // 目前視窗內的筆數
+    private long totalCount = 0;      // 累計記錄過的筆數
+
+    public LatencyTracker(int windowSize) {
+        samples = new long[windowSize];
+        sorted = new long[windowSize];
+    }
+
+    /** 記錄一筆延遲（奈秒），視窗滿了就蓋掉最舊的 */
+    public synchronized void record(long latencyNanos) {
+        samples[next] = latencyNanos;
+        next = (next + 1) % samples.length;
+        if (sampleCount < samples.length) sampleCount++;
+        totalCount++;
+    }
+
+    /**
+     * 視窗內的百分位數（nearest-rank）
+     * @param percentile 0 ~ 100，例如 95
+     * @return 奈秒；沒有資料時為 0
+     */
+    public synchronized long getPercentile(double percentile) {
+        if (sampleCount == 0) return 0;
+
+        System.arraycopy(samples, 0, sorted, 0, sampleCount);
+        Arrays.sort(sorted, 0, sampleCount);
+
+        int rank = (int) Math.ceil(percentile / 100.0 * sampleCount);
+        int index = Math.min(Math.max(rank - 1, 0), sampleCount - 1);
+        return sorted[index];
+    }
+
+    public synchronized int getSampleCount() {
+        return sampleCount;
+    }
+
+    public synchronized long getTotalCount() {
+        return totalCount;
+    }
+
+    public synchronized void reset() {
+        next = 0;
+        sampleCount = 0;
+        totalCount = 0;
+    }
+
+    /** 一行摘要（毫秒），例如 "n=120 p50=14.20ms p95=21.05ms p99=30.11ms" */
+    public String toSummary() {
+        return String.format(Locale.US, "n=%d p50=%.2fms p95=%.2fms p99=%.2fms",
+                getSampleCount(),
+                getPercentile(50) / 1_000_000.0,
+                getPercentile(95) / 1_000_000.0,
+                getPercentile(99) / 1_000_000.0);
+    }
+}
@@ -0,0 +1,187 @@
+package com.example.project_group08.core;
+
+/**
+ * 角色的物理部分（跳躍、重力、落地）
+ * - x：固定在畫面 1/4 位置
+ * - y：由重力控制，只管上下（y 代表腳底）
+ * 動畫與繪製由 app 的 Player 負責。
+ */
+public class PlayerModel {
+
+    // 物理參數（之後可以自己微調），單位都是「每秒」，和更新頻率無關
+    public static final float GRAVITY = 3600f;        // 重力加速度（像素/秒²）
+    public static final float JUMP_VELOCITY = -1500f; // 起跳初速（像素/秒，負值往上）
+
+    // 固定 X 位置
+    private final float x;
+
+    // 垂直位置與速度（y 代表腳底）
+    private float y;
+    private float velocityY;
+
+    // 上一步的 y，繪製時用來插值
+    private float previousY;
+
+    // 狀態
+    private boolean isJumping = false;
+    private boolean isGameOver = false;
+
+    // ⭐ 踩到洞洞後，忽略地板碰撞，讓角色自由落體
+    private boolean ignoreGroundCollision = false;
+
+    // 地板高度（腳底的 Y），由外部提供
+    private float groundY;
+
+    // 角色寬高（之後會依據動畫圖片調整）
+    private float width;
+    private float height;
+
+    public PlayerModel(float screenWidth, float groundY) {
+        // 固定在畫面 1/4
+        this.x = screenWidth * 0.25f;
+
+        // 先給一個預設大小（如果沒設定動畫時用）
+        this.width = 80f;
+        this.height = 120f;
+
+        reset(groundY);
+    }
+
+    /**
+     * 重新開始：站回地板、清除跳躍 / 掉落 / 遊戲結束狀態（保留碰撞框大小）
+     * @param groundY 新一局的地板高度（腳底的 Y）
+     */
+    public void reset(float groundY) {
+        this.groundY = groundY;
+        this.y = groundY;
+        this.previousY = groundY;
+        this.velocityY = 0f;
+
+        isJumping = false;
+        isGameOver = false;
+        ignoreGroundCollision = false;
+    }
+
+    /** 依動畫圖片調整碰撞框大小 */
+    public void setSize(float width, float height) {
+        this.width = width;
+        this.height = height;
+    }
+
+    /** 讓外部更新地板高度（例如場景改變） */
+    public void setGroundY(float groundY) {
+        this.groundY = groundY;
+        if (y > groundY) {
+            y = groundY;
+            velocityY = 0;
+            isJumping = false;
+        }
+    }
+
+    /** 讓遊戲結束時把角色凍住 */
+    public void setGameOver(boolean gameOver) {
+        this.isGameOver = gameOver;
+        if (gameOver) {
+            previousY = y;  // 凍住後不再插值，避免畫面抖動
+        }
+    }
+
+    /** 踩到洞洞時，忽略地板碰撞，開始往下掉 */
+    public void setIgnoreGroundCollision(boolean ignore) {
+        this.ignoreGroundCollision = ignore;
+
+        // 只要在洞洞上，就算是在空中 → 用跳躍 / 掉落動畫
+        if (ignore) {
+            this.isJumping = true;
+        }
+    }
+
+    /** 對外的跳躍接口：不在空中、沒 GameOver 才能跳，回傳有沒有真的跳起來 */
+    public boolean jump() {
+        if (!isJumping && !isGameOver) {
+            velocityY = JUMP_VELOCITY;
+            isJumping = true;
+            return true;
+        }
+        return false;
+    }
+
+    /** 內部用：套用重力，依經過時間更新 y 位置 */
+    private void applyGravity(float deltaTime) {
+        velocityY += GRAVITY * deltaTime;
+        y += velocityY * deltaTime;
+
+        // ⭐ 只有「沒有踩到洞洞」時才會被地板接住
+        if (!ignoreGroundCollision && y >= groundY) {
+            y = groundY;
+            velocityY = 0;
+            isJumping = false;
+        }
+        // 如果 ignoreGroundCollision == true → 不進來這個 if，
+        // 角色就會一路往下掉，直到 GameWorld 判定 Game Over。
+    }
+
+    /**
+     * 每一步更新垂直運動
+     * @param deltaTime 經過的時間(秒)
+     */
+    public void update(float deltaTime) {
+        if (isGameOver) {
+            return; // 遊戲結束就不動
+        }
+
+        previousY = y;
+        applyGravity(deltaTime);
+    }
+
+    /**
+     * 繪製用的 y（腳底）
+     * @param interpolation 上一步(0)到這一步(1)之間的插值比例
+     */
+    public float getRenderY(float interpolation) {
+        return previousY + (y - previousY) * interpolation;
+    }
+
+    // ====== 碰撞框（螢幕座標，取整數），給糖果碰撞判斷用 ======
+    public int getCollisionLeft() {
+        return (int) (x - width / 2f);
+    }
+
+    public int getCollisionTop() {
+        return (int) (y - height);
+    }
+
+    public int getCollisionRight() {
+        return (int) (x - width / 2f + width);
+    }
+
+    public int getCollisionBottom() {
+        return (int) (y - height + height);
+    }
+
+    // ====== 一些 getter ======
+    public float getX() {
+        return x;
+    }
+
+    /** 回傳腳底的 Y（給 GroundModel.isPlayerFalling 用） */
+    public float getY() {
+        return y;
+    }
+
+    public float getWidth() {
+        return width;
+    }
+
+    public float getHeight() {
+        return height;
+    }
+
+    public boolean isJumping() {
+        return isJumping;
+    }
+
+    public boolean isGameOver() {
+        return isGameOver;
+    }
+}
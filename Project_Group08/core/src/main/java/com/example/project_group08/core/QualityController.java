@@ -0,0 +1,101 @@
+package com.example.project_group08.core;
+
+/**
+ * 依每一幀的繪製時間自動調整解析度（不依賴 Android）：
+ * - 每 WINDOW_FRAMES 幀算一次平均工作時間
+ * - 平均超過預算的 DOWNGRADE_RATIO → 馬上降一級
+ * - 估計升一級後的時間（像素數 ∝ 倍率²）仍低於預算的 UPGRADE_RATIO，
+ *   而且連續 UPGRADE_WINDOWS 個視窗都這樣 → 才升一級
+ * 降得快、升得慢，中間留一段緩衝，不會在兩級之間來回跳。
+ * 倍率只影響畫面的像素數，遊戲座標（碰撞、物理）不受影響。
+ */
+public class QualityController {
+
+    // 解析度倍率，由高到低
+    private static final float[] SCALES = {1f, 0.85f, 0.7f, 0.5f};
+
+    static final int WINDOW_FRAMES = 60;
+    static final float DOWNGRADE_RATIO = 0.9f;
+    static final float UPGRADE_RATIO = 0.75f;
+    static final int UPGRADE_WINDOWS = 3;
+
+    private int level = 0;
+
+    private long windowWorkNanos = 0;
+    private int windowFrames = 0;
+    private int goodWindows = 0;       // 連續幾個視窗有餘裕升級
+    private long lastAverageNanos = 0;
+
+    /**
+     * 回報一幀的工作時間
+     * @param workNanos 這一幀實際花的時間
+     * @param budgetNanos 每一幀的預算（vsync 週期）
+     * @return 倍率有改變時 true（呼叫端要套用 getScale()）
+     */
+    public boolean onFrame(long workNanos, long budgetNanos) {
+        windowWorkNanos += workNanos;
+        windowFrames++;
+        if (windowFrames < WINDOW_FRAMES) return false;
+
+        long average = windowWorkNanos / windowFrames;
+        lastAverageNanos = average;
+        windowWorkNanos = 0;
+        windowFrames = 0;
+
+        // 太慢 → 降一級
+        if (average > budgetNanos * DOWNGRADE_RATIO) {
+            goodWindows = 0;
+            if (level < SCALES.length - 1) {
+                level++;
+                return true;
+            }
+            return false;
+        }
+
+        // 估計升一級後的時間還在預算內 → 累積幾個視窗再升
+        if (level > 0) {
+            float ratio = SCALES[level - 1] / SCALES[level];
+            float predicted = average * ratio * ratio;
+            if (predicted < budgetNanos * UPGRADE_RATIO) {
+                goodWindows++;
+                if (goodWindows >= UPGRADE_WINDOWS) {
+                    goodWindows = 0;
+                    level--;
+                    return true;
+                }
+                return false;
+            }
+        }
+
+        goodWindows = 0;
+        return false;
+    }
+
+    /** 目前的解析度倍率（1 = 原始解析度） */
+    public float getScale() {
+        return SCALES[level];
+    }
+
+    /** 目前的等級（0 = 最高） */
+    public int getLevel() {
+        return level;
+    }
+
+    public int getLevelCount() {
+        return SCALES.length;
+    }
+
+    /** 上一個視窗的平均工作時間（奈秒） */
+    public long getLastAverageNanos() {
+        return lastAverageNanos;
+    }
+
+    /** 回到最高解析度，重新統計 */
+    public void reset() {
+        level = 0;
+        windowWorkNanos = 0;
+        windowFrames = 0;
+        goodWindows = 0;
+        lastAverageNanos = 0;
+    }
+}
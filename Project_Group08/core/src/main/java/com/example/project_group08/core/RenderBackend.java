@@ -0,0 +1,24 @@
+package com.example.project_group08.core;
+
+/**
+ * 接收 RenderCommandBuffer 重播的繪製指令：
+ * app 用 Canvas 實作真正畫出來，單元測試用 RecordingBackend（在 test 裡）記錄下來比對
+ */
+public interface RenderBackend {
+
+    /** 一幀開始（可以讀 frame 的畫面狀態、HUD 數值） */
+    void beginFrame(RenderCommandBuffer frame);
+
+    /**
+     * 地板圖塊（由左到右依序送來）
+     * @param worldX 圖塊左邊緣的世界 X
+     * @param screenX 圖塊左邊緣的螢幕 X
+     */
+    void drawTile(int tileType, int worldX, float screenX);
+
+    /** 圖片：左上角在 (x, y) */
+    void drawSprite(int spriteId, int frame, float x, float y);
+
+    /** 一幀結束（HUD 之類疊在最上面的東西在這裡畫） */
+    void endFrame(RenderCommandBuffer frame);
+}
@@ -0,0 +1,175 @@
+package com.example.project_group08.core;
+
+import java.util.Arrays;
+
+/**
+ * 一幀的繪製指令（不依賴 Android）：
+ * 模擬執行緒把地板圖塊、糖果、角色的螢幕位置、HUD 數值和開始 / 結束畫面的狀態寫進來，
+ * 繪製執行緒再用 replay() 交給 RenderBackend 畫出來，不會去讀模擬執行緒正在改的物件。
+ * 指令用幾個平行陣列儲存，清空後重複使用，不會每一幀配置新物件。
+ */
+public class RenderCommandBuffer {
+
+    // 指令種類
+    public static final int CMD_TILE = 0;     // 地板圖塊：id = 圖塊種類，param = 圖塊世界 X
+    public static final int CMD_SPRITE = 1;   // 圖片：id = 圖片編號，param = 動畫格
+
+    // 圖片編號
+    public static final int SPRITE_CANDY = 0;
+    public static final int SPRITE_PLAYER = 1;
+
+    // 目前的畫面
+    public static final int SCREEN_MENU = 0;
+    public static final int SCREEN_PLAYING = 1;
+    public static final int SCREEN_GAME_OVER = 2;
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    private int[] kinds = new int[INITIAL_CAPACITY];
+    private int[] ids = new int[INITIAL_CAPACITY];
+    private int[] params = new int[INITIAL_CAPACITY];
+    private float[] xs = new float[INITIAL_CAPACITY];
+    private float[] ys = new float[INITIAL_CAPACITY];
+    private int count = 0;
+
+    // HUD / 畫面狀態
+    private int screen = SCREEN_MENU;
+    private int hp;
+    private int maxHp;
+    private int candyCount;
+
+    // 開始畫面：按鈕呼吸動畫的時間（秒）、圖片預載進度（0 ~ 1）
+    private float menuAnimationTime;
+    private float loadingProgress;
+
+    // 結束畫面：已經顯示多久（秒，縮放動畫用）
+    private float gameOverSeconds;
+
+    // 這一幀含有的跳躍是哪一次觸控造成的（事件時間，0 = 沒有），量延遲用
+    private long inputEventTimeNanos;
+
+    /** 清空，準備寫下一幀 */
+    public void clear() {
+        count = 0;
+        screen = SCREEN_MENU;
+        hp = 0;
+        maxHp = 0;
+        candyCount = 0;
+        menuAnimationTime = 0f;
+        loadingProgress = 0f;
+        gameOverSeconds = 0f;
+        inputEventTimeNanos = 0;
+    }
+
+    /**
+     * @param worldX 圖塊左邊緣的世界 X（繪製端用來判斷是不是同一塊）
+     * @param screenX 圖塊左邊緣的螢幕 X
+     */
+    public void addTile(int tileType, int worldX, float screenX) {
+        add(CMD_TILE, tileType, worldX, screenX, 0f);
+    }
+
+    /**
+     * @param frame 動畫格（由畫面層決定，原樣傳給繪製端）
+     * @param x 左上角的螢幕 X
+     * @param y 左上角的螢幕 Y
+     */
+    public void addSprite(int spriteId, int frame, float x, float y) {
+        add(CMD_SPRITE, spriteId, frame, x, y);
+    }
+
+    private void add(int kind, int id, int param, float x, float y) {
+        if (count == kinds.length) {
+            // 只有第一次遇到更多指令時才會變大，之後就一直沿用
+            int capacity = count * 2;
+            kinds = Arrays.copyOf(kinds, capacity);
+            ids = Arrays.copyOf(ids, capacity);
+            params = Arrays.copyOf(params, capacity);
+            xs = Arrays.copyOf(xs, capacity);
+            ys = Arrays.copyOf(ys, capacity);
+        }
+
+        kinds[count] = kind;
+        ids[count] = id;
+        params[count] = param;
+        xs[count] = x;
+        ys[count] = y;
+        count++;
+    }
+
+    public void setScreen(int screen) {
+        this.screen = screen;
+    }
+
+    public void setHud(int hp, int maxHp, int candyCount) {
+        this.hp = hp;
+        this.maxHp = maxHp;
+        this.candyCount = candyCount;
+    }
+
+    /** 開始畫面的狀態（SCREEN_MENU 時使用） */
+    public void setMenu(float animationTime, float loadingProgress) {
+        this.menuAnimationTime = animationTime;
+        this.loadingProgress = loadingProgress;
+    }
+
+    /** 結束畫面的狀態（SCREEN_GAME_OVER 時使用） */
+    public void setGameOver(float gameOverSeconds) {
+        this.gameOverSeconds = gameOverSeconds;
+    }
+
+    public void setInputEventTime(long eventTimeNanos) {
+        this.inputEventTimeNanos = eventTimeNanos;
+    }
+
+    /**
+     * 依序把指令交給 backend：beginFrame → 每一個指令 → endFrame
+     */
+    public void replay(RenderBackend backend) {
+        backend.beginFrame(this);
+        for (int i = 0; i < count; i++) {
+            if (kinds[i] == CMD_TILE) {
+                backend.drawTile(ids[i], params[i], xs[i]);
+            } else {
+                backend.drawSprite(ids[i], params[i], xs[i], ys[i]);
+            }
+        }
+        backend.endFrame(this);
+    }
+
+    public int getCommandCount() {
+        return count;
+    }
+
+    public int getScreen() {
+        return screen;
+    }
+
+    public int getHp() {
+        return hp;
+    }
+
+    public int getMaxHp() {
+        return maxHp;
+    }
+
+    public int getCandyCount() {
+        return candyCount;
+    }
+
+    public float getMenuAnimationTime() {
+        return menuAnimationTime;
+    }
+
+    public float getLoadingProgress() {
+        return loadingProgress;
+    }
+
+    public float getGameOverSeconds() {
+        return gameOverSeconds;
+    }
+
+    public long getInputEventTimeNanos() {
+        return inputEventTimeNanos;
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.project_group08.core;
+
+/**
+ * 模擬執行緒和繪製執行緒交換 RenderCommandBuffer：
+ * 雙緩衝（寫入中 / 繪製中）再加一個交換格，兩邊都不用等對方。
+ * - 模擬端寫完 getWriteBuffer() 就 publish()，放進交換格
+ * - 繪製端 awaitFrame() 拿走交換格裡最新的一幀
+ * 繪製端來不及時，交換格裡舊的那一幀會直接被新的取代（算一次丟幀）。
+ */
+public class RenderFrameExchange {
+
+    private RenderCommandBuffer writeBuffer = new RenderCommandBuffer();
+    private RenderCommandBuffer pendingBuffer = new RenderCommandBuffer();
+    private RenderCommandBuffer readBuffer = new RenderCommandBuffer();
+
+    private boolean hasPending = false;
+    private boolean closed = false;
+    private long droppedFrames = 0;
+
+    /** 模擬端正在寫的緩衝區（只能在模擬執行緒使用） */
+    public RenderCommandBuffer getWriteBuffer() {
+        return writeBuffer;
+    }
+
+    /** 模擬端寫完一幀，交給繪製端 */
+    public synchronized void publish() {
+        if (hasPending) {
+            droppedFrames++;
+
+            // 被取代的那一幀含有觸控造成的變化 → 改由這一幀送出時量延遲
+            if (writeBuffer.getInputEventTimeNanos() == 0) {
+                writeBuffer.setInputEventTime(pendingBuffer.getInputEventTimeNanos());
+            }
+        }
+
+        RenderCommandBuffer swap = pendingBuffer;
+        pendingBuffer = writeBuffer;
+        writeBuffer = swap;
+        hasPending = true;
+        notifyAll();
+    }
+
+    /**
+     * 繪製端等待下一幀；拿到的緩衝區在下一次呼叫前都不會被改動
+     * @return 已經 close() 時回傳 null
+     */
+    public synchronized RenderCommandBuffer awaitFrame() throws InterruptedException {
+        while (!hasPending && !closed) {
+            wait();
+        }
+        if (closed) return null;
+
+        RenderCommandBuffer swap = readBuffer;
+        readBuffer = pendingBuffer;
+        pendingBuffer = swap;
+        hasPending = false;
+        return readBuffer;
+    }
+
+    /** 停止交換，等待中的繪製端會拿到 null */
+    public synchronized void close() {
+        closed = true;
+        notifyAll();
+    }
+
+    /** 繪製端來不及、被新的一幀取代掉的次數 */
+    public synchronized long getDroppedFrameCount() {
+        return droppedFrames;
+    }
+}
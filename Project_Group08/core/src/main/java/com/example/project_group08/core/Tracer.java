@@ -0,0 +1,26 @@
+package com.example.project_group08.core;
+
+/**
+ * 效能追蹤的掛勾（不依賴 Android）：
+ * GameWorld 在各階段前後呼叫，app 在開啟追蹤的版本換成 android.os.Trace，
+ * 其他時候是什麼都不做的 NONE。名稱請用字串常數，呼叫時才不會配置物件。
+ */
+public interface Tracer {
+
+    /** 什麼都不做（預設） */
+    Tracer NONE = new Tracer() {
+        @Override
+        public void beginSection(String name) {
+        }
+
+        @Override
+        public void endSection() {
+        }
+    };
+
+    /** 開始一段（同一條執行緒上要和 endSection 成對） */
+    void beginSection(String name);
+
+    /** 結束最近開始的一段 */
+    void endSection();
+}
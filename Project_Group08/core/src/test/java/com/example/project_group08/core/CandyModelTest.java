@@ -0,0 +1,223 @@
+package com.example.project_group08.core;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * CandyModel 的排序插入、二分搜尋、環形緩衝區和範圍查詢的單元測試
+ */
+public class CandyModelTest {
+
+    private static final int SCREEN_WIDTH = 2400;
+    private static final int GROUND_Y = 900;
+    private static final int SIZE = CandyModel.CANDY_SIZE;
+
+    @Test
+    public void emptyBuffer_queriesFindNothing() {
+        CandyModel candy = emptyModel(new Camera());
+        int[] out = new int[CandyModel.MAX_CANDIES];
+
+        assertEquals(0, candy.getCandyCount());
+        assertEquals(0, candy.queryRect(-100_000, -100_000, 100_000, 100_000, out));
+        assertEquals(0, candy.queryRadius(0, 0, 100_000, out));
+        assertEquals(0, candy.collect(-100_000, -100_000, 100_000, 100_000, null));
+    }
+
+    @Test
+    public void spawn_keepsCandiesSortedByX() {
+        Camera camera = new Camera();
+        CandyModel candy = emptyModel(camera);
+        int base = camera.toWorldX(0);
+
+        int[] xs = {500, 100, 300, 300, 900, 0, 700};
+        for (int x : xs) {
+            assertTrue(candy.spawn(base + x, 0));
+        }
+
+        assertEquals(xs.length, candy.getCandyCount());
+        for (int i = 1; i < candy.getCandyCount(); i++) {
+            assertTrue(candy.getCandyX(candy.getSlot(i - 1)) <= candy.getCandyX(candy.getSlot(i)));
+        }
+    }
+
+    @Test
+    public void fullBuffer_rejectsSpawnAndWrapsAroundRing() {
+        Camera camera = new Camera();
+        CandyModel candy = emptyModel(camera);
+        int base = camera.toWorldX(0);
+
+        // 前面已經移除過糖果，head 不在 0，排滿之後一定會繞回陣列開頭
+        assertNotEquals(0, candy.getSlot(0));
+        for (int i = 0; i < CandyModel.MAX_CANDIES; i++) {
+            assertTrue(candy.spawn(base + i * 60, 0));
+        }
+        assertFalse(candy.spawn(base + 5, 0));
+        assertEquals(CandyModel.MAX_CANDIES, candy.getCandyCount());
+
+        // 跨過繞回點的查詢：最後一格和第一格在陣列上相鄰
+        int wrapIndex = CandyModel.MAX_CANDIES - candy.getSlot(0);
+        assertEquals(0, candy.getSlot(wrapIndex));
+        int wrapX = candy.getCandyX(0);
+        int[] out = new int[CandyModel.MAX_CANDIES];
+        int found = candy.queryRect(wrapX - 120, 0, wrapX + 61, SIZE, out);
+
+        assertEquals(Arrays.asList(wrapX - 120, wrapX - 60, wrapX, wrapX + 60), xsOf(candy, out, found));
+        assertEquals(CandyModel.MAX_CANDIES - 2, out[0]);
+        assertEquals(1, out[3]);
+    }
+
+    @Test
+    public void queryRect_includesEdgesOnlyWhenOverlapping() {
+        Camera camera = new Camera();
+        CandyModel candy = emptyModel(camera);
+        int base = camera.toWorldX(0);
+        candy.spawn(base + 1000, 0);
+        int x = base + 1000;
+        int[] out = new int[4];
+
+        // 右邊界剛好碰到糖果左邊緣 → 不算重疊
+        assertEquals(0, candy.queryRect(x - 100, 0, x, SIZE, out));
+        assertEquals(1, candy.queryRect(x - 100, 0, x + 1, SIZE, out));
+
+        // 左邊界剛好碰到糖果右邊緣 → 不算重疊
+        assertEquals(0, candy.queryRect(x + SIZE, 0, x + 200, SIZE, out));
+        assertEquals(1, candy.queryRect(x + SIZE - 1, 0, x + 200, SIZE, out));
+
+        // 上下也一樣
+        assertEquals(0, candy.queryRect(x, SIZE, x + SIZE, SIZE + 10, out));
+        assertEquals(0, candy.queryRect(x, -10, x + SIZE, 0, out));
+        assertEquals(1, candy.queryRect(x, -10, x + SIZE, 1, out));
+    }
+
+    @Test
+    public void queryRadius_includesCandyExactlyOnRadius() {
+        Camera camera = new Camera();
+        CandyModel candy = emptyModel(camera);
+        int base = camera.toWorldX(0);
+        int x = base + 1000;
+        candy.spawn(x, 0);
+        int[] out = new int[4];
+        int centerX = x + SIZE / 2;
+        int centerY = SIZE / 2;
+
+        // 3-4-5 直角三角形：中心距離剛好 50
+        assertEquals(1, candy.queryRadius(centerX + 30, centerY + 40, 50, out));
+        assertEquals(0, candy.queryRadius(centerX + 30, centerY + 40, 49, out));
+
+        // 只有水平距離，左右兩邊剛好在半徑上（二分搜尋的起點和結束條件）
+        assertEquals(1, candy.queryRadius(centerX + 200, centerY, 200, out));
+        assertEquals(1, candy.queryRadius(centerX - 200, centerY, 200, out));
+        assertEquals(0, candy.queryRadius(centerX + 201, centerY, 200, out));
+        assertEquals(0, candy.queryRadius(centerX - 201, centerY, 200, out));
+    }
+
+    @Test
+    public void collectedCandyInMiddle_isSkippedAndKeptInOrder() {
+        Camera camera = new Camera();
+        CandyModel candy = emptyModel(camera);
+        int base = camera.toWorldX(0);
+        for (int i = 0; i < 5; i++) {
+            candy.spawn(base + i * 100, 0);
+        }
+
+        // 吃掉中間那顆（角色框用螢幕座標）
+        int screenX = camera.toScreenX(base + 200);
+        assertEquals(1, candy.collect(screenX, 0, screenX + SIZE, SIZE, null));
+        assertEquals(0, candy.collect(screenX, 0, screenX + SIZE, SIZE, null));
+
+        // 不在最前面，不會被移除，但查詢不到
+        candy.update(null);
+        assertEquals(5, candy.getCandyCount());
+        assertEquals(4, candy.getLiveCandyCount());
+
+        int[] out = new int[8];
+        int found = candy.queryRect(base - 100, 0, base + 1000, SIZE, out);
+        assertEquals(Arrays.asList(base, base + 100, base + 300, base + 400), xsOf(candy, out, found));
+
+        // 從左邊插入新糖果時，已收集的標記要跟著那顆一起往後挪
+        candy.spawn(base + 150, 0);
+        found = candy.queryRect(base - 100, 0, base + 1000, SIZE, out);
+        assertEquals(Arrays.asList(base, base + 100, base + 150, base + 300, base + 400), xsOf(candy, out, found));
+        assertEquals(5, candy.getLiveCandyCount());
+    }
+
+    @Test
+    public void collect_matchesBruteForceScan() {
+        Camera camera = new Camera();
+        CandyModel candy = emptyModel(camera);
+        int base = camera.toWorldX(0);
+        Random random = new Random(11);
+
+        // 任意順序插入，位置有重疊也有重複
+        List<int[]> all = new ArrayList<>();
+        for (int i = 0; i < CandyModel.MAX_CANDIES; i++) {
+            int x = base + random.nextInt(SCREEN_WIDTH);
+            int y = random.nextInt(400);
+            assertTrue(candy.spawn(x, y));
+            all.add(new int[]{x, y});
+        }
+
+        for (int round = 0; round < 200; round++) {
+            int left = random.nextInt(SCREEN_WIDTH) - 100;
+            int top = random.nextInt(400) - 50;
+            int right = left + 1 + random.nextInt(300);
+            int bottom = top + 1 + random.nextInt(200);
+
+            // 暴力掃過全部還沒吃掉的糖果（世界座標）
+            int worldLeft = camera.toWorldX(left);
+            int worldRight = camera.toWorldX(right);
+            List<String> expected = new ArrayList<>();
+            for (int[] c : all) {
+                if (c[0] < 0) continue;   // 已經吃掉
+                if (c[0] < worldRight && c[0] + SIZE > worldLeft && top < c[1] + SIZE && c[1] < bottom) {
+                    expected.add(c[0] + "," + c[1]);
+                    c[0] = -c[0] - 1;
+                }
+            }
+
+            List<String> reported = new ArrayList<>();
+            int count = candy.collect(left, top, right, bottom, (x, y) -> reported.add(x + "," + y));
+
+            Collections.sort(expected);
+            Collections.sort(reported);
+            assertEquals(expected, reported);
+            assertEquals(expected.size(), count);
+        }
+    }
+
+    /**
+     * 開場的那一排糖果捲出畫面後移除，留下一個空的緩衝區（head 不在 0）
+     * Random 一律回傳最大值，update 時不會再生成新的糖果
+     */
+    private static CandyModel emptyModel(Camera camera) {
+        Random noSpawn = new Random() {
+            @Override
+            public int nextInt(int bound) {
+                return bound - 1;
+            }
+        };
+        CandyModel candy = new CandyModel(SCREEN_WIDTH, GROUND_Y, camera, noSpawn);
+        assertTrue(candy.getCandyCount() > 0);
+
+        camera.advance(SCREEN_WIDTH * 2);
+        camera.advance(SCREEN_WIDTH * 2);
+        candy.update(null);
+        assertEquals(0, candy.getCandyCount());
+        return candy;
+    }
+
+    private static List<Integer> xsOf(CandyModel candy, int[] slots, int count) {
+        List<Integer> xs = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            xs.add(candy.getCandyX(slots[i]));
+        }
+        return xs;
+    }
+}
@@ -0,0 +1,184 @@
+package com.example.project_group08.core;
+
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+/**
+ * 遊戲迴圈生命週期的單元測試：
+ * 暫停時 GameThread 不再排 vsync 回呼，RenderThread 停在 awaitFrame 不用 CPU
+ */
+public class EngineLifecycleTest {
+
+    @Test
+    public void blockedLoop_stopsRepostingUntilResumed() {
+        EngineLifecycle lifecycle = new EngineLifecycle();
+        VsyncLoop loop = new VsyncLoop(lifecycle);
+
+        // Surface 建立 → 排第一幀，之後每次 vsync 都會再排下一幀
+        lifecycle.unblock(EngineLifecycle.NO_SURFACE);
+        loop.vsync(5);
+        assertEquals(5, loop.frames);
+        assertTrue(loop.posted);
+
+        // 切到背景：已經排好的那一次回呼進來後就不再排
+        lifecycle.block(EngineLifecycle.PAUSED);
+        loop.vsync(10);
+        assertEquals(5, loop.frames);
+        assertFalse(loop.posted);
+
+        // 回到前景：Listener 重新排一次，之後照常每幀都跑
+        lifecycle.unblock(EngineLifecycle.PAUSED);
+        assertTrue(loop.posted);
+        loop.vsync(3);
+        assertEquals(8, loop.frames);
+    }
+
+    @Test
+    public void tryResume_doesNotPostTwiceWhileFrameIsPending() {
+        EngineLifecycle lifecycle = new EngineLifecycle();
+        lifecycle.unblock(EngineLifecycle.NO_SURFACE);
+
+        assertTrue(lifecycle.tryResume());
+        assertFalse(lifecycle.tryResume());
+
+        // 暫停又馬上恢復，回呼還在排隊中 → 不會多排一次
+        lifecycle.block(EngineLifecycle.PAUSED);
+        lifecycle.unblock(EngineLifecycle.PAUSED);
+        assertFalse(lifecycle.tryResume());
+        assertTrue(lifecycle.onFrame());
+    }
+
+    @Test
+    public void rendererWithoutFrames_usesNoCpu() throws InterruptedException {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        assumeCpuTimeSupported(threads);
+
+        RenderFrameExchange exchange = new RenderFrameExchange();
+        AtomicLong rendered = new AtomicLong();
+
+        // 和 RenderThread 一樣：一直等下一幀，拿到 null 就結束
+        Thread renderer = new Thread(() -> {
+            try {
+                while (exchange.awaitFrame() != null) {
+                    rendered.incrementAndGet();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        renderer.start();
+
+        exchange.publish();
+        waitForCount(rendered, 1);
+
+        // 暫停中 GameThread 不送新的一幀 → 繪製執行緒停在 awaitFrame
+        waitUntilWaiting(renderer);
+        long cpuBefore = threads.getThreadCpuTime(renderer.getId());
+        Thread.sleep(300);
+        long cpuNanos = threads.getThreadCpuTime(renderer.getId()) - cpuBefore;
+
+        assertEquals(1, rendered.get());
+        assertTrue("parked renderer used " + cpuNanos + " ns of CPU", cpuNanos < 5_000_000L);
+
+        // 恢復後送出的下一幀馬上被畫
+        exchange.publish();
+        waitForCount(rendered, 2);
+
+        exchange.close();
+        renderer.join(2000);
+        assertFalse(renderer.isAlive());
+    }
+
+    @Test
+    public void listener_firesOnceWhenLastReasonIsCleared() {
+        EngineLifecycle lifecycle = new EngineLifecycle(EngineLifecycle.NO_SURFACE);
+        AtomicInteger resumed = new AtomicInteger();
+        lifecycle.setListener(resumed::incrementAndGet);
+
+        lifecycle.block(EngineLifecycle.PAUSED);
+        lifecycle.unblock(EngineLifecycle.NO_SURFACE);
+        assertEquals(0, resumed.get());
+        assertFalse(lifecycle.isRunning());
+
+        lifecycle.unblock(EngineLifecycle.PAUSED);
+        assertEquals(1, resumed.get());
+        assertTrue(lifecycle.isRunning());
+
+        // 已經在執行中，再解除一次不會重複通知
+        lifecycle.unblock(EngineLifecycle.PAUSED);
+        assertEquals(1, resumed.get());
+    }
+
+    @Test
+    public void shutdown_stopsSchedulingFrames() {
+        EngineLifecycle lifecycle = new EngineLifecycle(0);
+        AtomicInteger resumed = new AtomicInteger();
+        lifecycle.setListener(resumed::incrementAndGet);
+
+        lifecycle.shutdown();
+
+        assertFalse(lifecycle.onFrame());
+        assertFalse(lifecycle.tryResume());
+
+        lifecycle.block(EngineLifecycle.PAUSED);
+        lifecycle.unblock(EngineLifecycle.PAUSED);
+        assertEquals(0, resumed.get());
+    }
+
+    /**
+     * 和 GameThread 一樣的排程方式：Listener 呼叫 tryResume 排回呼，
+     * 每次 vsync 只有排了回呼才執行，回呼裡 onFrame 為 true 才排下一次
+     */
+    private static class VsyncLoop {
+        final EngineLifecycle lifecycle;
+        boolean posted = false;
+        int frames = 0;
+
+        VsyncLoop(EngineLifecycle lifecycle) {
+            this.lifecycle = lifecycle;
+            lifecycle.setListener(() -> {
+                if (lifecycle.tryResume()) posted = true;
+            });
+        }
+
+        void vsync(int count) {
+            for (int i = 0; i < count; i++) {
+                if (!posted) continue;   // 沒有排回呼 → 這次 vsync 什麼都不做
+                posted = false;
+
+                if (!lifecycle.onFrame()) continue;
+                posted = true;
+                frames++;
+            }
+        }
+    }
+
+    private static void assumeCpuTimeSupported(ThreadMXBean threads) {
+        org.junit.Assume.assumeTrue(threads.isThreadCpuTimeSupported());
+        if (!threads.isThreadCpuTimeEnabled()) {
+            threads.setThreadCpuTimeEnabled(true);
+        }
+    }
+
+    private static void waitForCount(AtomicLong count, long atLeast) throws InterruptedException {
+        long deadline = System.nanoTime() + 2_000_000_000L;
+        while (count.get() < atLeast && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertTrue(count.get() >= atLeast);
+    }
+
+    private static void waitUntilWaiting(Thread thread) throws InterruptedException {
+        long deadline = System.nanoTime() + 2_000_000_000L;
+        while (thread.getState() != Thread.State.WAITING && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(Thread.State.WAITING, thread.getState());
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.project_group08.core;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+
+import static org.junit.Assert.*;
+
+/**
+ * 幀時間分佈和摘要輸出的單元測試
+ */
+public class FrameTimingsTest {
+
+    @Test
+    public void histogram_percentilesAreWithinOneBucket() {
+        FrameHistogram histogram = new FrameHistogram();
+        // 1 ~ 100 ms，每個值一次
+        for (int ms = 1; ms <= 100; ms++) {
+            histogram.record(ms * 1_000_000L - 50_000L);
+        }
+
+        assertEquals(100, histogram.getCount());
+        assertEquals(50_000_000L, histogram.getPercentileNanos(50), FrameHistogram.BUCKET_NANOS);
+        assertEquals(90_000_000L, histogram.getPercentileNanos(90), FrameHistogram.BUCKET_NANOS);
+        assertEquals(99_000_000L, histogram.getPercentileNanos(99), FrameHistogram.BUCKET_NANOS);
+        assertEquals(99_950_000L, histogram.getMaxNanos());
+    }
+
+    @Test
+    public void histogram_overflowReportsMax() {
+        FrameHistogram histogram = new FrameHistogram();
+        histogram.record(1_000_000L);
+        histogram.record(500_000_000L);   // 超過 100 ms
+
+        assertEquals(500_000_000L, histogram.getPercentileNanos(99));
+        assertEquals(1_000_000L, histogram.getPercentileNanos(50), FrameHistogram.BUCKET_NANOS);
+    }
+
+    @Test
+    public void record_doesNotAllocate() {
+        FrameTimings timings = new FrameTimings();
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean)) return;   // HotSpot 才能量測
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        long threadId = Thread.currentThread().getId();
+        for (int i = 0; i < 10_000; i++) recordFrame(timings, i);
+
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < 10_000; i++) recordFrame(timings, i);
+        long after = threads.getThreadAllocatedBytes(threadId);
+
+        assertEquals(0, after - before);
+    }
+
+    @Test
+    public void writeJsonAndCsv_containEveryPhase() throws IOException {
+        FrameTimings timings = new FrameTimings();
+        for (int i = 0; i < 100; i++) recordFrame(timings, i);
+
+        StringBuilder json = new StringBuilder();
+        timings.writeJson(json, 3, 12);
+        StringBuilder csv = new StringBuilder();
+        timings.writeCsv(csv, 3, 12);
+
+        assertTrue(json.toString().contains("\"frames\": 100"));
+        assertTrue(json.toString().contains("\"jankFrames\": 10"));
+        assertTrue(json.toString().contains("\"gcCount\": 3"));
+        for (int phase = 0; phase < FrameTimings.PHASE_COUNT; phase++) {
+            String name = FrameTimings.getPhaseName(phase);
+            assertTrue(name, json.toString().contains("\"" + name + "\": {\"count\": 100"));
+            assertTrue(name, csv.toString().contains("\n" + name + ",100,"));
+        }
+        assertTrue(csv.toString().contains("jank_frames,10\n"));
+    }
+
+    @Test
+    public void snapshot_isUnaffectedByLaterRecords() throws IOException {
+        FrameTimings timings = new FrameTimings();
+        for (int i = 0; i < 100; i++) recordFrame(timings, i);
+
+        FrameTimings snapshot = timings.snapshot();
+        StringBuilder before = new StringBuilder();
+        snapshot.writeJson(before, 0, 0);
+
+        // 之後繼續記錄、甚至重設，複本的內容都不變
+        for (int i = 0; i < 50; i++) recordFrame(timings, 19);
+        timings.reset();
+
+        StringBuilder after = new StringBuilder();
+        snapshot.writeJson(after, 0, 0);
+        assertEquals(before.toString(), after.toString());
+        assertEquals(100, snapshot.getFrameCount());
+        assertEquals(10, snapshot.getJankFrameCount());
+        assertEquals(100, snapshot.getHistogram(FrameTimings.PHASE_DRAW).getCount());
+        assertEquals(19_000_000L, snapshot.getHistogram(FrameTimings.PHASE_DRAW).getMaxNanos());
+        assertEquals(0, timings.getFrameCount());
+    }
+
+    private static void recordFrame(FrameTimings timings, int i) {
+        for (int phase = 0; phase < FrameTimings.PHASE_COUNT; phase++) {
+            timings.record(phase, (i % 20) * 1_000_000L);
+        }
+        timings.onFrame(i % 10 == 0);
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.project_group08.core;
+
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * GameWorld 的單元測試，直接在電腦上跑，不需要模擬器
+ */
+public class GameWorldTest {
+
+    private static final int SCREEN_WIDTH = 2400;
+    private static final int SCREEN_HEIGHT = 1080;
+
+    @Test
+    public void cameraDistance_isIndependentOfStepRate() {
+        GameWorld at60 = new GameWorld(SCREEN_WIDTH, SCREEN_HEIGHT, 0f, new Random(1));
+        GameWorld at120 = new GameWorld(SCREEN_WIDTH, SCREEN_HEIGHT, 0f, new Random(1));
+
+        for (int i = 0; i < 60; i++) at60.step(1f / 60);
+        for (int i = 0; i < 120; i++) at120.step(1f / 120);
+
+        assertEquals(GameWorld.BASE_RUN_SPEED, at60.getCamera().getX(), 1f);
+        assertEquals(at60.getCamera().getX(), at120.getCamera().getX(), 1f);
+    }
+
+    @Test
+    public void jump_landsBackOnGround() {
+        PlayerModel player = new PlayerModel(SCREEN_WIDTH, 500f);
+        player.jump();
+        assertTrue(player.isJumping());
+
+        int steps = 0;
+        while (player.isJumping() && steps < 600) {
+            player.update(1f / 60);
+            steps++;
+        }
+
+        // 滯空時間 = 2 × 初速 / 重力
+        float airTime = 2f * -PlayerModel.JUMP_VELOCITY / PlayerModel.GRAVITY;
+        assertEquals(airTime, steps / 60f, 2f / 60);
+        assertEquals(500f, player.getY(), 0f);
+    }
+
+    @Test
+    public void floorTiles_neverReportGaps() {
+        GroundModel ground = new GroundModel(SCREEN_WIDTH, SCREEN_HEIGHT, new Camera(), new Random(7));
+        Camera camera = ground.getCamera();
+
+        for (int i = 0; i < 600; i++) {
+            camera.advance(600f / 60);
+            ground.update();
+
+            for (int t = 0; t < ground.getTileCount(); t++) {
+                int tileX = ground.getTileX(t);
+                assertEquals(ground.getTileType(t), ground.getTileTypeAt(tileX));
+
+                if (ground.getTileType(t) == GroundModel.TILE_FLOOR) {
+                    for (int x = tileX; x < tileX + GroundModel.TILE_WIDTH; x += 64) {
+                        assertFalse(ground.isXCoordinateGap(x));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void reset_restoresInitialStateWithoutAllocating() {
+        GameWorld world = new GameWorld(SCREEN_WIDTH, SCREEN_HEIGHT, 0f, new Random(3));
+        int initialTiles = world.getGround().getTileCount();
+        float groundY = world.getPlayer().getY();
+
+        for (int i = 0; i < 2000; i++) world.step(1f / 60);
+        assertTrue(world.isGameOver());
+
+        world.reset(40f);
+        assertFalse(world.isGameOver());
+        assertFalse(world.hasFallen());
+        assertEquals(0f, world.getGameTime(), 0f);
+        assertEquals(0f, world.getCamera().getX(), 0f);
+        assertEquals(initialTiles, world.getGround().getTileCount());
+        assertEquals(GroundModel.TILE_FLOOR, world.getGround().getTileType(0));
+        assertEquals(groundY + 40f, world.getPlayer().getY(), 0f);
+        assertEquals(world.getHp().getMaxHP(), world.getHp().getCurrentHP(), 0f);
+        assertTrue(world.getCandy().getLiveCandyCount() > 0);
+
+        // 重設不應該配置任何物件（HotSpot 才能量測）
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+            long threadId = Thread.currentThread().getId();
+            for (int i = 0; i < 1000; i++) world.reset(40f);
+
+            long before = threads.getThreadAllocatedBytes(threadId);
+            world.reset(40f);
+            long after = threads.getThreadAllocatedBytes(threadId);
+            assertEquals(0, after - before);
+        }
+    }
+
+    @Test
+    public void longSimulation_staysWithinFixedCapacity() {
+        GameWorld world = new GameWorld(SCREEN_WIDTH, SCREEN_HEIGHT, 0f, new Random(42));
+        int tileCapacity = SCREEN_WIDTH / GroundModel.TILE_WIDTH + 4;
+
+        for (int i = 0; i < 100_000; i++) {
+            if (i % 40 == 0) world.jump();
+            world.step(1f / 60);
+
+            assertTrue(world.getGround().getTileCount() <= tileCapacity);
+            assertTrue(world.getCandy().getCandyCount() <= CandyModel.MAX_CANDIES);
+        }
+
+        assertTrue(world.isGameOver());
+        assertTrue(world.getCamera().getX() > 0);
+    }
+
+    @Test
+    public void tracer_sectionsArePairedAndNamed() {
+        GameWorld world = new GameWorld(SCREEN_WIDTH, SCREEN_HEIGHT, 0f, new Random(2));
+        java.util.List<String> events = new java.util.ArrayList<>();
+        int[] depth = new int[1];
+        world.setTracer(new Tracer() {
+            @Override
+            public void beginSection(String name) {
+                events.add(name);
+                depth[0]++;
+            }
+
+            @Override
+            public void endSection() {
+                depth[0]--;
+                assertTrue(depth[0] >= 0);
+            }
+        });
+
+        world.step(1f / 60);
+
+        assertEquals(0, depth[0]);
+        assertEquals(java.util.List.of("Ground.update", "Candy.update", "collision", "Player.update"), events);
+    }
+}
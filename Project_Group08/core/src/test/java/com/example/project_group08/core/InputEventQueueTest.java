@@ -0,0 +1,103 @@
+package com.example.project_group08.core;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * 觸控事件佇列的單元測試
+ */
+public class InputEventQueueTest {
+
+    @Test
+    public void drainUntil_onlyTakesEventsThatAlreadyHappened() {
+        InputEventQueue queue = new InputEventQueue(8);
+        queue.offer(InputEventQueue.TOUCH_DOWN, 1f, 2f, 100);
+        queue.offer(InputEventQueue.TOUCH_DOWN, 3f, 4f, 200);
+        queue.offer(InputEventQueue.TOUCH_DOWN, 5f, 6f, 300);
+
+        List<Long> times = new ArrayList<>();
+        InputEventQueue.Listener listener = (type, x, y, eventTimeNanos) -> times.add(eventTimeNanos);
+
+        assertEquals(2, queue.drainUntil(250, listener));
+        assertEquals(List.of(100L, 200L), times);
+        assertEquals(1, queue.size());
+
+        assertEquals(1, queue.drainUntil(300, listener));
+        assertEquals(List.of(100L, 200L, 300L), times);
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void discardUntil_dropsOnlyEventsThatAlreadyHappened() {
+        InputEventQueue queue = new InputEventQueue(8);
+        queue.offer(InputEventQueue.TOUCH_DOWN, 1f, 2f, 100);
+        queue.offer(InputEventQueue.TOUCH_DOWN, 3f, 4f, 200);
+        queue.offer(InputEventQueue.TOUCH_DOWN, 5f, 6f, 300);
+
+        assertEquals(2, queue.discardUntil(250));
+        assertEquals(1, queue.size());
+        assertEquals(0, queue.discardUntil(250));
+
+        // 留下來的事件照常取出
+        List<Long> times = new ArrayList<>();
+        queue.drainUntil(Long.MAX_VALUE, (type, x, y, eventTimeNanos) -> times.add(eventTimeNanos));
+        assertEquals(List.of(300L), times);
+    }
+
+    @Test
+    public void offer_dropsEventsWhenFull() {
+        InputEventQueue queue = new InputEventQueue(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(queue.offer(InputEventQueue.TOUCH_DOWN, 0f, 0f, i));
+        }
+
+        assertFalse(queue.offer(InputEventQueue.TOUCH_DOWN, 0f, 0f, 4));
+        assertEquals(1, queue.getDroppedEventCount());
+
+        // 取出之後又有空位，索引繞回開頭也正常
+        queue.drainUntil(Long.MAX_VALUE, (type, x, y, t) -> { });
+        assertTrue(queue.offer(InputEventQueue.TOUCH_DOWN, 7f, 8f, 5));
+
+        float[] received = new float[2];
+        queue.drainUntil(Long.MAX_VALUE, (type, x, y, t) -> {
+            received[0] = x;
+            received[1] = y;
+        });
+        assertArrayEquals(new float[]{7f, 8f}, received, 0f);
+    }
+
+    @Test
+    public void concurrentProducer_deliversEveryEventInOrder() throws InterruptedException {
+        InputEventQueue queue = new InputEventQueue(16);
+        int total = 200_000;
+
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < total; i++) {
+                // 滿了就等讀取者，這個測試不丟事件
+                while (!queue.offer(InputEventQueue.TOUCH_DOWN, i, -i, i)) {
+                    Thread.yield();
+                }
+            }
+        });
+        producer.start();
+
+        long[] next = new long[]{0};
+        boolean[] outOfOrder = new boolean[]{false};
+        while (next[0] < total) {
+            queue.drainUntil(Long.MAX_VALUE, (type, x, y, eventTimeNanos) -> {
+                if (eventTimeNanos != next[0] || x != next[0] || y != -next[0]) {
+                    outOfOrder[0] = true;
+                }
+                next[0]++;
+            });
+        }
+        producer.join();
+
+        assertFalse(outOfOrder[0]);
+        assertEquals(total, next[0]);
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.project_group08.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * 延遲統計的單元測試
+ */
+public class LatencyTrackerTest {
+
+    @Test
+    public void percentiles_useNearestRank() {
+        LatencyTracker tracker = new LatencyTracker(100);
+        // 亂序放進 1 ~ 100 ms
+        for (int i = 0; i < 100; i++) {
+            tracker.record(((i * 37) % 100 + 1) * 1_000_000L);
+        }
+
+        assertEquals(50_000_000L, tracker.getPercentile(50));
+        assertEquals(95_000_000L, tracker.getPercentile(95));
+        assertEquals(99_000_000L, tracker.getPercentile(99));
+        assertEquals(100_000_000L, tracker.getPercentile(100));
+    }
+
+    @Test
+    public void window_keepsOnlyMostRecentSamples() {
+        LatencyTracker tracker = new LatencyTracker(4);
+        for (int i = 0; i < 4; i++) tracker.record(1000);
+        for (int i = 0; i < 4; i++) tracker.record(5);
+
+        assertEquals(4, tracker.getSampleCount());
+        assertEquals(8, tracker.getTotalCount());
+        assertEquals(5, tracker.getPercentile(99));
+    }
+
+    @Test
+    public void empty_reportsZero() {
+        LatencyTracker tracker = new LatencyTracker(8);
+        assertEquals(0, tracker.getPercentile(50));
+        assertEquals("n=0 p50=0.00ms p95=0.00ms p99=0.00ms", tracker.toSummary());
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.project_group08.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * 動態解析度的單元測試：假設繪製時間和像素數（倍率²）成正比
+ */
+public class QualityControllerTest {
+
+    private static final long BUDGET = 16_666_667L;
+
+    /** 跑 frames 幀，回傳倍率改變了幾次 */
+    private static int run(QualityController controller, double fullResolutionCost, int frames) {
+        int changes = 0;
+        for (int i = 0; i < frames; i++) {
+            float scale = controller.getScale();
+            long work = (long) (fullResolutionCost * scale * scale);
+            if (controller.onFrame(work, BUDGET)) changes++;
+        }
+        return changes;
+    }
+
+    @Test
+    public void overBudget_stepsDownOneLevelPerWindow() {
+        QualityController controller = new QualityController();
+
+        // 一個視窗還沒滿，不會動
+        for (int i = 0; i < QualityController.WINDOW_FRAMES - 1; i++) {
+            assertFalse(controller.onFrame(BUDGET * 2, BUDGET));
+        }
+        assertTrue(controller.onFrame(BUDGET * 2, BUDGET));
+        assertEquals(1, controller.getLevel());
+
+        // 一直太慢 → 降到最低就停住
+        run(controller, BUDGET * 10.0, QualityController.WINDOW_FRAMES * 10);
+        assertEquals(controller.getLevelCount() - 1, controller.getLevel());
+        assertEquals(0.5f, controller.getScale(), 0f);
+    }
+
+    @Test
+    public void headroom_stepsBackUpOnlyAfterSeveralGoodWindows() {
+        QualityController controller = new QualityController();
+        run(controller, BUDGET * 3.0, QualityController.WINDOW_FRAMES * 10);
+        int lowest = controller.getLevel();
+
+        // 負載變輕：要連續幾個視窗都有餘裕才升一級
+        run(controller, BUDGET * 0.2, QualityController.WINDOW_FRAMES * (QualityController.UPGRADE_WINDOWS - 1));
+        assertEquals(lowest, controller.getLevel());
+
+        run(controller, BUDGET * 0.2, QualityController.WINDOW_FRAMES);
+        assertEquals(lowest - 1, controller.getLevel());
+
+        // 夠久之後回到原始解析度
+        run(controller, BUDGET * 0.2, QualityController.WINDOW_FRAMES * 50);
+        assertEquals(0, controller.getLevel());
+        assertEquals(1f, controller.getScale(), 0f);
+    }
+
+    @Test
+    public void steadyLoad_settlesWithoutOscillating() {
+        // 從 0.1 倍預算到 3 倍預算，每種負載跑很久都只會往一個方向調整，最後停住
+        for (double load = 0.1; load <= 3.0; load += 0.05) {
+            QualityController controller = new QualityController();
+            int changes = run(controller, BUDGET * load, QualityController.WINDOW_FRAMES * 200);
+
+            assertTrue("load " + load + " changed " + changes + " times",
+                    changes < controller.getLevelCount());
+
+            // 停下來之後再跑一段，不會再變
+            assertEquals(0, run(controller, BUDGET * load, QualityController.WINDOW_FRAMES * 50));
+        }
+    }
+}
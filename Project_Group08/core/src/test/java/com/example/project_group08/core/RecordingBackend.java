@@ -0,0 +1,45 @@
+package com.example.project_group08.core;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 把收到的繪製指令記成文字，單元測試用來比對實際的繪製順序和位置
+ */
+public class RecordingBackend implements RenderBackend {
+
+    private final List<String> commands = new ArrayList<>();
+
+    @Override
+    public void beginFrame(RenderCommandBuffer frame) {
+        commands.add("begin screen=" + frame.getScreen());
+    }
+
+    @Override
+    public void drawTile(int tileType, int worldX, float screenX) {
+        commands.add("tile type=" + tileType + " worldX=" + worldX + " x=" + screenX);
+    }
+
+    @Override
+    public void drawSprite(int spriteId, int frame, float x, float y) {
+        commands.add("sprite id=" + spriteId + " frame=" + frame + " x=" + x + " y=" + y);
+    }
+
+    @Override
+    public void endFrame(RenderCommandBuffer frame) {
+        commands.add("end hp=" + frame.getHp() + "/" + frame.getMaxHp()
+                + " candy=" + frame.getCandyCount());
+        if (frame.getScreen() == RenderCommandBuffer.SCREEN_GAME_OVER) {
+            commands.add("gameOver shown=" + frame.getGameOverSeconds());
+        }
+    }
+
+    /** 目前記錄到的所有指令 */
+    public List<String> getCommands() {
+        return commands;
+    }
+
+    public void clear() {
+        commands.clear();
+    }
+}
@@ -0,0 +1,195 @@
+package com.example.project_group08.core;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * 繪製指令和模擬 / 繪製執行緒交換的單元測試，用 RecordingBackend 比對實際的繪製順序
+ */
+public class RenderCommandBufferTest {
+
+    private static final int SCREEN_WIDTH = 2400;
+    private static final int SCREEN_HEIGHT = 1080;
+    private static final int PLAYER_FRAME = 7;
+
+    @Test
+    public void writeRenderCommands_drawsGroundThenCandiesThenPlayerThenHud() {
+        GameWorld world = new GameWorld(SCREEN_WIDTH, SCREEN_HEIGHT, 0f, new Random(3));
+        for (int i = 0; i < 90; i++) world.step(1f / 60);
+
+        RenderCommandBuffer buffer = new RenderCommandBuffer();
+        world.writeRenderCommands(buffer, 0.5f, PLAYER_FRAME);
+        RecordingBackend recording = new RecordingBackend();
+        buffer.replay(recording);
+
+        // 依照 model 的狀態算出應該畫的東西
+        List<String> expected = new ArrayList<>();
+        expected.add("begin screen=" + RenderCommandBuffer.SCREEN_PLAYING);
+
+        int cameraX = (int) world.getCamera().getRenderX(0.5f);
+        GroundModel ground = world.getGround();
+        for (int i = 0; i < ground.getTileCount(); i++) {
+            int tileX = ground.getTileX(i);
+            expected.add("tile type=" + ground.getTileType(i) + " worldX=" + tileX
+                    + " x=" + (float) (tileX - cameraX));
+        }
+
+        CandyModel candy = world.getCandy();
+        for (int i = 0; i < candy.getCandyCount(); i++) {
+            int slot = candy.getSlot(i);
+            if (candy.isCollectedSlot(slot)) continue;
+            expected.add("sprite id=" + RenderCommandBuffer.SPRITE_CANDY + " frame=0"
+                    + " x=" + (float) (candy.getCandyX(slot) - cameraX)
+                    + " y=" + (float) candy.getCandyY(slot));
+        }
+
+        PlayerModel player = world.getPlayer();
+        expected.add("sprite id=" + RenderCommandBuffer.SPRITE_PLAYER + " frame=" + PLAYER_FRAME
+                + " x=" + (player.getX() - player.getWidth() / 2f)
+                + " y=" + (player.getRenderY(0.5f) - player.getHeight()));
+
+        HpModel hp = world.getHp();
+        expected.add("end hp=" + (int) hp.getCurrentHP() + "/" + (int) hp.getMaxHP()
+                + " candy=" + hp.getCandyCount());
+
+        assertTrue("ground should have visible tiles", ground.getTileCount() > 0);
+        assertEquals(expected, recording.getCommands());
+    }
+
+    @Test
+    public void clear_reusesBufferForNextFrame() {
+        GameWorld world = new GameWorld(SCREEN_WIDTH, SCREEN_HEIGHT, 0f, new Random(5));
+        RenderCommandBuffer buffer = new RenderCommandBuffer();
+
+        world.writeRenderCommands(buffer, 1f, PLAYER_FRAME);
+        RecordingBackend first = new RecordingBackend();
+        buffer.replay(first);
+        int commandCount = buffer.getCommandCount();
+
+        // 清空後還是開始畫面，沒有任何指令
+        buffer.clear();
+        assertEquals(0, buffer.getCommandCount());
+        assertEquals(RenderCommandBuffer.SCREEN_MENU, buffer.getScreen());
+
+        // 同一個狀態再寫一次，指令完全一樣
+        world.writeRenderCommands(buffer, 1f, PLAYER_FRAME);
+        RecordingBackend second = new RecordingBackend();
+        buffer.replay(second);
+
+        assertEquals(commandCount, buffer.getCommandCount());
+        assertEquals(first.getCommands(), second.getCommands());
+    }
+
+    @Test
+    public void menuAndGameOverState_travelWithTheFrame() throws InterruptedException {
+        RenderFrameExchange exchange = new RenderFrameExchange();
+
+        // 開始畫面：動畫時間和載入進度跟著這一幀走
+        RenderCommandBuffer menu = exchange.getWriteBuffer();
+        menu.clear();
+        menu.setMenu(1.5f, 0.25f);
+        exchange.publish();
+
+        RenderCommandBuffer frame = exchange.awaitFrame();
+        assertEquals(RenderCommandBuffer.SCREEN_MENU, frame.getScreen());
+        assertEquals(1.5f, frame.getMenuAnimationTime(), 0f);
+        assertEquals(0.25f, frame.getLoadingProgress(), 0f);
+
+        // 模擬端繼續寫下一幀，繪製端手上這一幀不變
+        RenderCommandBuffer gameOver = exchange.getWriteBuffer();
+        gameOver.clear();
+        gameOver.setScreen(RenderCommandBuffer.SCREEN_GAME_OVER);
+        gameOver.setGameOver(0.25f);
+        assertEquals(1.5f, frame.getMenuAnimationTime(), 0f);
+        exchange.publish();
+
+        RecordingBackend recording = new RecordingBackend();
+        exchange.awaitFrame().replay(recording);
+        assertEquals("gameOver shown=0.25",
+                recording.getCommands().get(recording.getCommands().size() - 1));
+
+        // 清空後回到開始畫面的預設值
+        RenderCommandBuffer reused = exchange.getWriteBuffer();
+        reused.setMenu(2f, 1f);
+        reused.setGameOver(4f);
+        reused.clear();
+        assertEquals(0f, reused.getMenuAnimationTime(), 0f);
+        assertEquals(0f, reused.getGameOverSeconds(), 0f);
+    }
+
+    @Test
+    public void addSprite_growsPastInitialCapacity() {
+        RenderCommandBuffer buffer = new RenderCommandBuffer();
+        for (int i = 0; i < 1000; i++) {
+            buffer.addSprite(RenderCommandBuffer.SPRITE_CANDY, 0, i, 0);
+        }
+
+        RecordingBackend recording = new RecordingBackend();
+        buffer.replay(recording);
+
+        // begin + 1000 張圖 + end，順序不變
+        assertEquals(1002, recording.getCommands().size());
+        assertEquals("sprite id=0 frame=0 x=999.0 y=0.0", recording.getCommands().get(1000));
+    }
+
+    @Test
+    public void exchange_rendererGetsLatestFrameAndDropsStaleOne() throws InterruptedException {
+        RenderFrameExchange exchange = new RenderFrameExchange();
+
+        exchange.getWriteBuffer().setHud(1, 100, 0);
+        exchange.publish();
+        exchange.getWriteBuffer().setHud(2, 100, 0);
+        exchange.publish();
+
+        RenderCommandBuffer frame = exchange.awaitFrame();
+        assertEquals(2, frame.getHp());
+        assertEquals(1, exchange.getDroppedFrameCount());
+
+        // 繪製端拿著的緩衝區不會被模擬端繼續寫到
+        assertNotSame(frame, exchange.getWriteBuffer());
+        exchange.getWriteBuffer().setHud(3, 100, 0);
+        exchange.publish();
+        assertEquals(2, frame.getHp());
+        assertEquals(3, exchange.awaitFrame().getHp());
+    }
+
+    @Test
+    public void exchange_droppedFrameHandsInputTimeToNextFrame() throws InterruptedException {
+        RenderFrameExchange exchange = new RenderFrameExchange();
+
+        // 含有跳躍的那一幀還沒被畫就被下一幀取代
+        exchange.getWriteBuffer().clear();
+        exchange.getWriteBuffer().setInputEventTime(1234);
+        exchange.publish();
+        exchange.getWriteBuffer().clear();
+        exchange.publish();
+
+        assertEquals(1234, exchange.awaitFrame().getInputEventTimeNanos());
+    }
+
+    @Test
+    public void exchange_closeReleasesWaitingRenderer() throws InterruptedException {
+        RenderFrameExchange exchange = new RenderFrameExchange();
+        RenderCommandBuffer[] received = new RenderCommandBuffer[]{ new RenderCommandBuffer() };
+
+        Thread renderer = new Thread(() -> {
+            try {
+                received[0] = exchange.awaitFrame();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        renderer.start();
+
+        exchange.close();
+        renderer.join(2000);
+
+        assertFalse(renderer.isAlive());
+        assertNull(received[0]);
+    }
+}
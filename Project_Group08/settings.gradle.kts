@@ -21,3 +21,5 @@ dependencyResolutionManagement {
 
 rootProject.name = "project_group08"
 include(":app")
+include(":core")
+include(":benchmarks")